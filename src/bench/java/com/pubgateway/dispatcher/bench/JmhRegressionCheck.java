@@ -0,0 +1,75 @@
+package com.pubgateway.dispatcher.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against a baseline and exits non-zero if any benchmark got worse by
+ * more than {@code bench.threshold} percent (default 10). Throughput scores must not drop; time-based
+ * scores (avgt, sample, ss) must not rise. Benchmarks missing from either side are reported but not fatal.
+ * <p>
+ * System properties: bench.baseline (required), bench.result (target/jmh-result.json), bench.threshold (10).
+ */
+public final class JmhRegressionCheck {
+
+    private JmhRegressionCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String baselinePath = System.getProperty("bench.baseline");
+        if (baselinePath == null) {
+            System.err.println("Set -Dbench.baseline=<baseline jmh-result.json>");
+            System.exit(2);
+        }
+        double threshold = Double.parseDouble(System.getProperty("bench.threshold", "10"));
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(new File(baselinePath)));
+        Map<String, JsonNode> current = index(objectMapper.readTree(
+                new File(System.getProperty("bench.result", "target/jmh-result.json"))));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double old = before.path("primaryMetric").path("score").asDouble();
+            double now = after.path("primaryMetric").path("score").asDouble();
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double change = old == 0 ? 0 : (now - old) / old * 100;
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n", regressed ? "REGRESSED" : "OK",
+                    entry.getKey(), old, now, after.path("primaryMetric").path("scoreUnit").asText(), change);
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("MISSING    %s%n", key));
+
+        if (regressions > 0) {
+            System.out.printf(Locale.ROOT, "%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            byKey.put(result.path("benchmark").asText() + " [" + result.path("mode").asText() + "] " + params, result);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,174 @@
+package com.pubgateway.dispatcher.bench;
+
+import com.pubgateway.dispatcher.DispatcherApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of the dispatcher with request handling on platform vs. virtual threads, against a
+ * deliberately slow stub Google plugin. The dispatcher is started twice in-process with
+ * {@code spring.threads.virtual.enabled} off and on; each run is driven by a closed loop of
+ * {@code bench.concurrency} clients for {@code bench.durationSeconds} after a warm-up.
+ * Cache and request coalescing are defeated by giving every request its own customerId, and the
+ * rate limiter is off and the read bulkhead is raised to {@code bench.concurrency} so neither
+ * rejects the load being measured.
+ * <p>
+ * One JSON line per mode is printed to stdout, e.g.
+ * {@code {"mode":"virtual","concurrency":1000,"upstreamLatencyMs":200,"requests":48211,"errors":0,"throughput":2410.5,"p50Ms":201.3,"p99Ms":243.0}}
+ * <p>
+ * System properties: bench.concurrency (1000), bench.upstreamLatencyMs (200),
+ * bench.durationSeconds (20), bench.warmupSeconds (5).
+ */
+public final class VirtualThreadBenchmark {
+
+    private static final String KEYWORDS_BODY =
+            "{\"keywords\":[{\"id\":1,\"text\":\"running shoes\",\"matchType\":\"EXACT\",\"status\":\"ENABLED\"}]}";
+
+    private VirtualThreadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("bench.concurrency", 1000);
+        Duration upstreamLatency = Duration.ofMillis(Long.getLong("bench.upstreamLatencyMs", 200));
+        Duration duration = Duration.ofSeconds(Long.getLong("bench.durationSeconds", 20));
+        Duration warmup = Duration.ofSeconds(Long.getLong("bench.warmupSeconds", 5));
+
+        HttpServer stub = startStubPlugin(upstreamLatency);
+        try {
+            for (boolean virtual : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext dispatcher = startDispatcher(stub.getAddress().getPort(), virtual, concurrency)) {
+                    int port = dispatcher.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                    drive(port, concurrency, warmup);
+                    Result result = drive(port, concurrency, duration);
+                    System.out.printf(java.util.Locale.ROOT,
+                            "{\"mode\":\"%s\",\"concurrency\":%d,\"upstreamLatencyMs\":%d,\"requests\":%d,\"errors\":%d,"
+                                    + "\"throughput\":%.1f,\"p50Ms\":%.1f,\"p99Ms\":%.1f}%n",
+                            virtual ? "virtual" : "platform", concurrency, upstreamLatency.toMillis(),
+                            result.requests(), result.errors(), result.requests() / (double) duration.toSeconds(),
+                            result.percentileMillis(50), result.percentileMillis(99));
+                }
+            }
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private static HttpServer startStubPlugin(Duration latency) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        byte[] body = KEYWORDS_BODY.getBytes(StandardCharsets.UTF_8);
+        server.createContext("/public/api/pubgateway/keywords", exchange -> {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static ConfigurableApplicationContext startDispatcher(int stubPort, boolean virtualThreads, int concurrency) {
+        return new SpringApplicationBuilder(DispatcherApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--eureka.client.enabled=false",
+                "--spring.cloud.discovery.client.simple.instances.google-pubgateway-plugin[0].uri=http://127.0.0.1:" + stubPort,
+                "--dispatcher.cache.enabled=false",
+                "--dispatcher.rate-limit.enabled=false",
+                "--dispatcher.resilience.operations.read.max-concurrent-calls=" + concurrency,
+                "--logging.level.com.pubgateway.dispatcher=WARN",
+                "--logging.level.org.springframework.cloud.openfeign=WARN");
+    }
+
+    private static Result drive(int port, int concurrency, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        AtomicLong sequence = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        URI uri = URI.create("http://127.0.0.1:" + port
+                                + "/api/v1/publishers/google/keywords?customerId=" + sequence.incrementAndGet());
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(
+                                    HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors++;
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors++;
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    long[] result = Arrays.copyOf(latencies, count + 1);
+                    result[count] = errors;
+                    return result;
+                }));
+            }
+
+            long errors = 0;
+            List<long[]> samples = new ArrayList<>();
+            for (Future<long[]> worker : workers) {
+                long[] result = worker.get();
+                errors += result[result.length - 1];
+                samples.add(Arrays.copyOf(result, result.length - 1));
+            }
+            long[] all = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(all, errors);
+        }
+    }
+
+    private record Result(long[] sortedLatencies, long errors) {
+        long requests() {
+            return sortedLatencies.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
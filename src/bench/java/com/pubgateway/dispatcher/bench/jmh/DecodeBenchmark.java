@@ -0,0 +1,62 @@
+package com.pubgateway.dispatcher.bench.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.model.response.AdsResponse;
+import com.pubgateway.dispatcher.model.response.CampaignResponse;
+import com.pubgateway.dispatcher.model.response.KeywordsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson deserialization of plugin list responses, as done by the Feign decoder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodeBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int entities;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] keywords;
+    private byte[] ads;
+    private byte[] campaigns;
+
+    @Setup
+    public void setUp() throws IOException {
+        keywords = objectMapper.writeValueAsBytes(Payloads.keywords(entities));
+        ads = objectMapper.writeValueAsBytes(Payloads.ads(entities));
+        campaigns = objectMapper.writeValueAsBytes(Payloads.campaigns(entities));
+    }
+
+    @Benchmark
+    public KeywordsResponse keywordsResponse() throws IOException {
+        return objectMapper.readValue(keywords, KeywordsResponse.class);
+    }
+
+    @Benchmark
+    public AdsResponse adsResponse() throws IOException {
+        return objectMapper.readValue(ads, AdsResponse.class);
+    }
+
+    @Benchmark
+    public CampaignResponse campaignResponse() throws IOException {
+        return objectMapper.readValue(campaigns, CampaignResponse.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.pubgateway.dispatcher.bench.jmh;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.enumeration.ContentFormat;
+import com.pubgateway.dispatcher.json.DataFormats;
+import com.pubgateway.dispatcher.model.Keyword;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keyword lists encoded and decoded in each response format the dispatcher negotiates.
+ * Payload sizes, plain and gzipped, are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatBenchmark {
+
+    private static final TypeReference<List<Keyword>> KEYWORDS = new TypeReference<>() {
+    };
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public ContentFormat format;
+
+    @Param({"1000", "10000"})
+    public int entities;
+
+    private ObjectMapper objectMapper;
+    private List<Keyword> keywords;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new DataFormats(new ObjectMapper()).mapper(format);
+        keywords = Payloads.keywords(entities).getKeywords();
+        encoded = objectMapper.writeValueAsBytes(keywords);
+        System.out.printf("%n%s, %d keywords: %d bytes, %d gzipped%n", format, entities, encoded.length, gzipped(encoded));
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(keywords);
+    }
+
+    @Benchmark
+    public List<Keyword> decode() throws IOException {
+        return objectMapper.readValue(encoded, KEYWORDS);
+    }
+
+    private static int gzipped(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
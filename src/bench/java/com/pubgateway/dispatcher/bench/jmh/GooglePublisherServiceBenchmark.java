@@ -0,0 +1,98 @@
+package com.pubgateway.dispatcher.bench.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.cache.EntityCache;
+import com.pubgateway.dispatcher.cache.EntityIndex;
+import com.pubgateway.dispatcher.cache.PageSnapshots;
+import com.pubgateway.dispatcher.cache.SingleFlight;
+import com.pubgateway.dispatcher.client.GooglePubGatewayClient;
+import com.pubgateway.dispatcher.client.ResponseStreamReader;
+import com.pubgateway.dispatcher.config.AccountHierarchyProperties;
+import com.pubgateway.dispatcher.config.CacheProperties;
+import com.pubgateway.dispatcher.config.PagingProperties;
+import com.pubgateway.dispatcher.config.RateLimitProperties;
+import com.pubgateway.dispatcher.config.ResilienceProperties;
+import com.pubgateway.dispatcher.json.DataFormats;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.model.Keyword;
+import com.pubgateway.dispatcher.model.response.CampaignResponse;
+import com.pubgateway.dispatcher.model.response.KeywordsResponse;
+import com.pubgateway.dispatcher.resilience.AdaptiveRateLimiter;
+import com.pubgateway.dispatcher.resilience.PluginGuard;
+import com.pubgateway.dispatcher.service.GoogleAccountHierarchy;
+import com.pubgateway.dispatcher.service.GooglePublisherService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GooglePublisherService} list calls against an in-memory client with the cache switched off:
+ * request coalescing, the plugin guard and the publisher/accountId tagging loops, without any I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GooglePublisherServiceBenchmark {
+
+    @Param({"100", "10000"})
+    public int entities;
+
+    private GooglePublisherService service;
+
+    @Setup
+    public void setUp() {
+        KeywordsResponse keywords = Payloads.keywords(entities);
+        CampaignResponse campaigns = Payloads.campaigns(entities);
+        GooglePubGatewayClient client = (GooglePubGatewayClient) Proxy.newProxyInstance(
+                GooglePubGatewayClient.class.getClassLoader(), new Class<?>[]{GooglePubGatewayClient.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getKeywords" -> keywords;
+                    case "getCampaigns" -> campaigns;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setEnabled(false);
+        SingleFlight singleFlight = new SingleFlight(registry, 10_000);
+        PagingProperties pagingProperties = new PagingProperties();
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setEnabled(false);
+        PluginGuard guard = new PluginGuard(new ResilienceProperties(),
+                new AdaptiveRateLimiter(rateLimitProperties, registry), registry);
+        service = new GooglePublisherService(client,
+                new EntityCache(cacheProperties, singleFlight, registry),
+                new EntityIndex(cacheProperties, registry),
+                new GoogleAccountHierarchy(client, singleFlight, guard, new AccountHierarchyProperties(), registry),
+                new ResponseStreamReader(new DataFormats(new ObjectMapper())),
+                new PageSnapshots(pagingProperties, registry),
+                pagingProperties,
+                guard);
+    }
+
+    @Benchmark
+    public List<Keyword> getKeywords() {
+        return service.getKeywords("1234567890", null, null, null, null);
+    }
+
+    @Benchmark
+    public List<Campaign> getCampaigns() {
+        return service.getCampaigns("1234567890", null, null, null, null, null);
+    }
+}
@@ -0,0 +1,70 @@
+package com.pubgateway.dispatcher.bench.jmh;
+
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.model.Keyword;
+import com.pubgateway.dispatcher.model.response.AdsResponse;
+import com.pubgateway.dispatcher.model.response.CampaignResponse;
+import com.pubgateway.dispatcher.model.response.KeywordsResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plugin responses shaped like production Google payloads: entity counts are set per benchmark,
+ * {@code raw} carries a few hundred bytes of the original API object as plugins do.
+ */
+final class Payloads {
+
+    private static final String[] STATUSES = {"ENABLED", "PAUSED", "REMOVED"};
+    private static final String[] MATCH_TYPES = {"EXACT", "PHRASE", "BROAD"};
+
+    private Payloads() {
+    }
+
+    static KeywordsResponse keywords(int count) {
+        Random random = new Random(42);
+        List<Keyword> keywords = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long groupId = 1_000 + i / 50;
+            keywords.add(new Keyword((long) i, 1234567890L, "keyword text " + i, pick(random, MATCH_TYPES),
+                    pick(random, STATUSES), "Ad group " + groupId, 100L + i / 500, groupId, raw(random, i), null));
+        }
+        return new KeywordsResponse(keywords, null);
+    }
+
+    static AdsResponse ads(int count) {
+        Random random = new Random(43);
+        List<Ads> ads = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ads.add(new Ads((long) i, 1234567890L, 1_000L + i / 20, 100L + i / 200, "Responsive search ad " + i,
+                    pick(random, STATUSES), "RESPONSIVE_SEARCH_AD", raw(random, i),
+                    "https://cdn.example.com/creatives/" + i + ".png", null));
+        }
+        return new AdsResponse(ads, null);
+    }
+
+    static CampaignResponse campaigns(int count) {
+        Random random = new Random(44);
+        List<Campaign> campaigns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            campaigns.add(new Campaign((long) i, "1234567890", "Campaign " + i, pick(random, STATUSES), "SERVING",
+                    "2024-01-01", "2024-12-31", random.nextDouble(), "SEARCH", "MAXIMIZE_CONVERSIONS", null,
+                    String.valueOf(random.nextInt(100_000)), null));
+        }
+        return new CampaignResponse(campaigns, null);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String raw(Random random, int i) {
+        StringBuilder raw = new StringBuilder("{\"resourceName\":\"customers/1234567890/entities/").append(i).append('"');
+        for (int field = 0; field < 8; field++) {
+            raw.append(",\"field").append(field).append("\":\"").append(Long.toHexString(random.nextLong())).append('"');
+        }
+        return raw.append('}').toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.pubgateway.dispatcher.bench.jmh;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code Publisher.valueOf(publisher.toUpperCase())} lookup every controller does on the path variable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublisherDispatchBenchmark {
+
+    @Param({"google", "META", "Meta"})
+    public String publisher;
+
+    @Benchmark
+    public Publisher valueOfUpperCase() {
+        return Publisher.valueOf(publisher.toUpperCase());
+    }
+}
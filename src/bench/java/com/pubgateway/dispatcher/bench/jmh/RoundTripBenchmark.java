@@ -0,0 +1,97 @@
+package com.pubgateway.dispatcher.bench.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.DispatcherApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full HTTP round trip: client -> dispatcher controller -> Feign -> zero-latency stub Google plugin and back.
+ * The dispatcher runs in-process with Eureka off and its cache disabled, so every call reaches the stub, and
+ * with the rate limiter off, so the benchmark threads sharing one customerId are not throttled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class RoundTripBenchmark {
+
+    @Param({"100", "5000"})
+    public int entities;
+
+    private HttpServer stub;
+    private ConfigurableApplicationContext dispatcher;
+    private HttpClient client;
+    private HttpRequest keywordsRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] body = new ObjectMapper().writeValueAsBytes(Payloads.keywords(entities));
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/public/api/pubgateway/keywords", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+
+        dispatcher = new SpringApplicationBuilder(DispatcherApplication.class)
+                .run("--server.port=0",
+                        "--eureka.client.enabled=false",
+                        "--spring.cloud.discovery.client.simple.instances.google-pubgateway-plugin[0].uri=http://127.0.0.1:"
+                                + stub.getAddress().getPort(),
+                        "--dispatcher.cache.enabled=false",
+                        "--dispatcher.rate-limit.enabled=false",
+                        "--logging.level.com.pubgateway.dispatcher=WARN",
+                        "--logging.level.org.springframework.cloud.openfeign=WARN");
+        int port = dispatcher.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        client = HttpClient.newHttpClient();
+        keywordsRequest = HttpRequest.newBuilder(URI.create(
+                "http://127.0.0.1:" + port + "/api/v1/publishers/google/keywords?customerId=1234567890")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+        stub.stop(0);
+    }
+
+    @Benchmark
+    public int keywords() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(keywordsRequest, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Dispatcher answered " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
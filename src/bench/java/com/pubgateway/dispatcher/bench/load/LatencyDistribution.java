@@ -0,0 +1,47 @@
+package com.pubgateway.dispatcher.bench.load;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Response delay of a stub plugin. Parsed from
+ * <ul>
+ *     <li>{@code fixed:<ms>}</li>
+ *     <li>{@code uniform:<minMs>-<maxMs>}</li>
+ *     <li>{@code lognormal:<medianMs>:<p99Ms>} - the usual long-tailed shape of real upstreams</li>
+ * </ul>
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * z-score of the 99th percentile of the standard normal distribution
+     */
+    double Z_99 = 2.326;
+
+    Duration sample();
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.split(":");
+        switch (parts[0]) {
+            case "fixed" -> {
+                Duration delay = Duration.ofMillis(Long.parseLong(parts[1]));
+                return () -> delay;
+            }
+            case "uniform" -> {
+                String[] bounds = parts[1].split("-");
+                long min = Long.parseLong(bounds[0]);
+                long max = Long.parseLong(bounds[1]);
+                return () -> Duration.ofMillis(ThreadLocalRandom.current().nextLong(min, max + 1));
+            }
+            case "lognormal" -> {
+                double median = Double.parseDouble(parts[1]);
+                double p99 = Double.parseDouble(parts[2]);
+                double mu = Math.log(median);
+                double sigma = Math.log(p99 / median) / Z_99;
+                return () -> Duration.ofNanos((long) (Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()) * 1_000_000));
+            }
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        }
+    }
+}
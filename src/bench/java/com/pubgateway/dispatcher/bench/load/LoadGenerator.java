@@ -0,0 +1,176 @@
+package com.pubgateway.dispatcher.bench.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the dispatcher over HTTP in one of two modes:
+ * <ul>
+ *     <li>closed loop: a fixed number of clients, each sending its next request as soon as the previous
+ *     one returned - measures capacity</li>
+ *     <li>open loop: requests are started at a fixed arrival rate regardless of how many are still
+ *     outstanding - measures latency under a given load. Latency is taken from the request's scheduled
+ *     start, so a stalled server is not hidden by the generator backing off (coordinated omission).</li>
+ * </ul>
+ * Request paths may contain {@code {customer}}, replaced by a random id out of {@code customers}
+ * so the dispatcher cache sees a realistic mix of hits and misses.
+ */
+public final class LoadGenerator {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String target;
+    private final List<String> paths;
+    private final int customers;
+
+    public LoadGenerator(String target, List<String> paths, int customers) {
+        this.target = target;
+        this.paths = paths;
+        this.customers = customers;
+    }
+
+    public Result closedLoop(int concurrency, Duration duration) throws InterruptedException {
+        Recorder recorder = new Recorder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    int status = send();
+                    recorder.record(status, System.nanoTime() - start);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return recorder.result("closed", duration);
+    }
+
+    public Result openLoop(double ratePerSecond, Duration duration, int maxInFlight) throws InterruptedException {
+        Recorder recorder = new Recorder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = (long) (1_000_000_000 / ratePerSecond);
+        long begin = System.nanoTime();
+        long count = duration.toNanos() / intervalNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < count; i++) {
+                long scheduled = begin + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    recorder.dropped.increment();
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        int status = send();
+                        recorder.record(status, System.nanoTime() - scheduled);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return recorder.result("open", duration);
+    }
+
+    private int send() {
+        String path = paths.get(ThreadLocalRandom.current().nextInt(paths.size()))
+                .replace("{customer}", String.valueOf(1_000_000 + ThreadLocalRandom.current().nextInt(customers)));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(target + path))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * @param statuses response status counts; -1 counts transport errors
+     */
+    public record Result(String mode, long requests, long errors, long dropped, Map<Integer, Long> statuses,
+                         double throughput, double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        public String toJson() {
+            StringBuilder statusJson = new StringBuilder("{");
+            statuses.forEach((status, count) -> statusJson.append(statusJson.length() > 1 ? "," : "")
+                    .append('"').append(status).append("\":").append(count));
+            return String.format(java.util.Locale.ROOT,
+                    "{\"mode\":\"%s\",\"requests\":%d,\"errors\":%d,\"dropped\":%d,\"statuses\":%s,\"throughput\":%.1f,"
+                            + "\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,\"p999Ms\":%.2f,\"maxMs\":%.2f}",
+                    mode, requests, errors, dropped, statusJson.append('}'), throughput, p50Ms, p90Ms, p99Ms, p999Ms, maxMs);
+        }
+    }
+
+    private static final class Recorder {
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+        private final AtomicLong size = new AtomicLong();
+        private volatile long[] latencies = new long[1 << 16];
+
+        void record(int status, long nanos) {
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            long index = size.getAndIncrement();
+            synchronized (this) {
+                if (index >= latencies.length) {
+                    latencies = Arrays.copyOf(latencies, (int) Math.max(latencies.length * 2L, index + 1));
+                }
+                latencies[(int) index] = nanos;
+            }
+        }
+
+        Result result(String mode, Duration duration) {
+            long[] sorted;
+            synchronized (this) {
+                sorted = Arrays.copyOf(latencies, (int) size.get());
+            }
+            Arrays.sort(sorted);
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            long errors = counts.entrySet().stream()
+                    .filter(entry -> entry.getKey() < 200 || entry.getKey() >= 400)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            return new Result(mode, sorted.length, errors, dropped.sum(), counts,
+                    sorted.length / (double) duration.toMillis() * 1000,
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 99.9),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000d);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000d;
+        }
+    }
+}
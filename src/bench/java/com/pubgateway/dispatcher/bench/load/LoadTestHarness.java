@@ -0,0 +1,133 @@
+package com.pubgateway.dispatcher.bench.load;
+
+import com.pubgateway.dispatcher.DispatcherApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Self-contained load test: starts stub Google and Meta plugins, boots the dispatcher with the
+ * {@code loadtest} profile (static service instances instead of Eureka) pointed at them, and drives it
+ * with {@link LoadGenerator}. One JSON result line per mode is printed and appended to {@code load.report}.
+ * <p>
+ * With {@code load.target} set, no dispatcher is started and the given one is driven instead; start it
+ * with the {@code loadtest} profile from {@code src/bench/resources} so it finds the stubs on their default ports.
+ * <p>
+ * System properties (defaults in brackets):
+ * <ul>
+ *     <li>{@code load.google.instances} [2], {@code load.google.port} [18081, consecutive ports per instance],
+ *     {@code load.meta.instances} [1], {@code load.meta.port} [18091]</li>
+ *     <li>{@code load.<google|meta>.latency} [lognormal:30:300], {@code .entities} [200], {@code .rawBytes} [512],
+ *     {@code .errorRate} [0], {@code .errorStatus} [503]</li>
+ *     <li>{@code load.mode} [both: closed|open|both], {@code load.concurrency} [64], {@code load.rate} [200 req/s],
+ *     {@code load.maxInFlight} [10000], {@code load.duration} [30 s], {@code load.warmup} [10 s]</li>
+ *     <li>{@code load.paths} [keywords, campaigns and ads list calls, comma separated],
+ *     {@code load.customers} [1000], {@code load.report} [target/loadtest.jsonl]</li>
+ * </ul>
+ */
+public final class LoadTestHarness {
+
+    private static final String DEFAULT_PATHS = String.join(",",
+            "/api/v1/publishers/google/keywords?customerId={customer}",
+            "/api/v1/publishers/google/campaigns?accountId={customer}",
+            "/api/v1/publishers/meta/campaigns?accountId={customer}",
+            "/api/v1/publishers/meta/ads?customerId={customer}");
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<StubPlugin> stubs = new ArrayList<>();
+        ConfigurableApplicationContext dispatcher = null;
+        try {
+            List<String> googleUris = startStubs(stubs, "google", 18081, 2);
+            List<String> metaUris = startStubs(stubs, "meta", 18091, 1);
+
+            String target = System.getProperty("load.target");
+            if (target == null) {
+                dispatcher = startDispatcher(googleUris, metaUris);
+                target = "http://127.0.0.1:" + dispatcher.getEnvironment().getRequiredProperty("local.server.port");
+            }
+
+            LoadGenerator generator = new LoadGenerator(target,
+                    Arrays.asList(System.getProperty("load.paths", DEFAULT_PATHS).split(",")),
+                    Integer.getInteger("load.customers", 1000));
+            String mode = System.getProperty("load.mode", "both");
+            Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+            Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+            int concurrency = Integer.getInteger("load.concurrency", 64);
+            double rate = Double.parseDouble(System.getProperty("load.rate", "200"));
+            int maxInFlight = Integer.getInteger("load.maxInFlight", 10_000);
+
+            generator.closedLoop(concurrency, warmup);
+            if (!"open".equals(mode)) {
+                report(generator.closedLoop(concurrency, duration));
+            }
+            if (!"closed".equals(mode)) {
+                report(generator.openLoop(rate, duration, maxInFlight));
+            }
+        } finally {
+            if (dispatcher != null) {
+                dispatcher.close();
+            }
+            stubs.forEach(StubPlugin::close);
+        }
+    }
+
+    private static List<String> startStubs(List<StubPlugin> stubs, String publisher, int defaultPort, int defaultInstances)
+            throws IOException {
+        String prefix = "load." + publisher + ".";
+        StubPlugin.Profile profile = new StubPlugin.Profile(
+                LatencyDistribution.parse(System.getProperty(prefix + "latency", "lognormal:30:300")),
+                Integer.getInteger(prefix + "entities", 200),
+                Integer.getInteger(prefix + "rawBytes", 512),
+                Double.parseDouble(System.getProperty(prefix + "errorRate", "0")),
+                Integer.getInteger(prefix + "errorStatus", 503));
+        int port = Integer.getInteger(prefix + "port", defaultPort);
+        List<String> uris = new ArrayList<>();
+        for (int i = 0; i < Integer.getInteger(prefix + "instances", defaultInstances); i++) {
+            StubPlugin stub = "google".equals(publisher)
+                    ? StubPlugin.google(port + i, profile)
+                    : StubPlugin.meta(port + i, profile);
+            stubs.add(stub);
+            uris.add("http://127.0.0.1:" + stub.port());
+        }
+        return uris;
+    }
+
+    private static ConfigurableApplicationContext startDispatcher(List<String> googleUris, List<String> metaUris) {
+        List<String> dispatcherArgs = new ArrayList<>(List.of("--server.port=0"));
+        for (int i = 0; i < googleUris.size(); i++) {
+            dispatcherArgs.add("--spring.cloud.discovery.client.simple.instances.google-pubgateway-plugin[" + i + "].uri="
+                    + googleUris.get(i));
+        }
+        for (int i = 0; i < metaUris.size(); i++) {
+            dispatcherArgs.add("--spring.cloud.discovery.client.simple.instances.meta-pubgateway-plugin[" + i + "].uri="
+                    + metaUris.get(i));
+        }
+        return new SpringApplicationBuilder(DispatcherApplication.class)
+                .profiles("loadtest")
+                .run(dispatcherArgs.toArray(String[]::new));
+    }
+
+    private static void report(LoadGenerator.Result result) throws IOException {
+        String json = result.toJson();
+        System.out.println(json);
+        Path report = Path.of(System.getProperty("load.report", "target/loadtest.jsonl"));
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report,
+                java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.APPEND))) {
+            out.println(json);
+        }
+    }
+}
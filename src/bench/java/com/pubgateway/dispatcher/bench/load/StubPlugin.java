@@ -0,0 +1,195 @@
+package com.pubgateway.dispatcher.bench.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.model.Account;
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.model.Group;
+import com.pubgateway.dispatcher.model.Keyword;
+import com.pubgateway.dispatcher.model.response.AccountsResponse;
+import com.pubgateway.dispatcher.model.response.AdGroupResponse;
+import com.pubgateway.dispatcher.model.response.AdsResponse;
+import com.pubgateway.dispatcher.model.response.CampaignResponse;
+import com.pubgateway.dispatcher.model.response.KeywordsResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * In-process stand-in for a publisher plugin, speaking the same HTTP contract as
+ * {@code GooglePubGatewayClient} ({@code /public/api/pubgateway/...}, wrapped lists) or
+ * {@code MetaPubGatewayClient} ({@code /api/...}, bare arrays and single-entity CRUD).
+ * List bodies are serialized once at startup, so the stub itself never becomes the bottleneck.
+ */
+public final class StubPlugin implements AutoCloseable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final Profile profile;
+    private final Map<String, byte[]> lists = new HashMap<>();
+    private final Map<String, byte[]> singles = new HashMap<>();
+
+    /**
+     * @param latency    delay before every response
+     * @param entities   entities per list response
+     * @param rawBytes   approximate size of each entity's {@code raw} field
+     * @param errorRate  fraction of requests answered with {@code errorStatus}
+     */
+    public record Profile(LatencyDistribution latency, int entities, int rawBytes, double errorRate, int errorStatus) {
+    }
+
+    private StubPlugin(HttpServer server, Profile profile) {
+        this.server = server;
+        this.profile = profile;
+    }
+
+    public static StubPlugin google(int port, Profile profile) throws IOException {
+        StubPlugin stub = new StubPlugin(HttpServer.create(new InetSocketAddress("127.0.0.1", port), 4096), profile);
+        stub.lists.put("account", json(new AccountsResponse(stub.generate(Math.min(profile.entities(), 50), StubPlugin::account))));
+        stub.lists.put("campaigns", json(new CampaignResponse(stub.generate(profile.entities(), stub::campaign), null)));
+        stub.lists.put("groups", json(new AdGroupResponse(stub.generate(profile.entities(), stub::group), null)));
+        stub.lists.put("ads", json(new AdsResponse(stub.generate(profile.entities(), stub::ad), null)));
+        stub.lists.put("keywords", json(new KeywordsResponse(stub.generate(profile.entities(), stub::keyword), null)));
+        stub.lists.put("hello", "\"hello\"".getBytes());
+        stub.server.createContext("/public/api/pubgateway/", stub::handleGoogle);
+        return stub.start();
+    }
+
+    public static StubPlugin meta(int port, Profile profile) throws IOException {
+        StubPlugin stub = new StubPlugin(HttpServer.create(new InetSocketAddress("127.0.0.1", port), 4096), profile);
+        stub.lists.put("campaigns", json(stub.generate(profile.entities(), stub::campaign)));
+        stub.lists.put("groups", json(stub.generate(profile.entities(), stub::group)));
+        stub.lists.put("ads", json(stub.generate(profile.entities(), stub::ad)));
+        stub.singles.put("accounts", json(account(1)));
+        stub.singles.put("campaigns", json(stub.campaign(1)));
+        stub.singles.put("groups", json(stub.group(1)));
+        stub.singles.put("ads", json(stub.ad(1)));
+        stub.server.createContext("/api/", stub::handleMeta);
+        return stub.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private StubPlugin start() {
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return this;
+    }
+
+    private void handleGoogle(HttpExchange exchange) throws IOException {
+        String resource = exchange.getRequestURI().getPath().substring("/public/api/pubgateway/".length());
+        respond(exchange, lists.get(resource));
+    }
+
+    private void handleMeta(HttpExchange exchange) throws IOException {
+        String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+        String resource = path[0];
+        switch (exchange.getRequestMethod()) {
+            case "GET" -> respond(exchange, path.length > 1 ? singles.get(resource) : lists.get(resource));
+            case "POST", "PUT" -> {
+                byte[] body;
+                try (InputStream in = exchange.getRequestBody()) {
+                    body = in.readAllBytes();
+                }
+                respond(exchange, body);
+            }
+            case "DELETE" -> respond(exchange, new byte[0]);
+            default -> respond(exchange, null);
+        }
+    }
+
+    private void respond(HttpExchange exchange, byte[] body) throws IOException {
+        try (exchange) {
+            sleep();
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            if (ThreadLocalRandom.current().nextDouble() < profile.errorRate()) {
+                exchange.sendResponseHeaders(profile.errorStatus(), -1);
+                return;
+            }
+            if (body.length == 0) {
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(profile.latency().sample());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> List<T> generate(int count, IntFunction<T> factory) {
+        List<T> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(factory.apply(i));
+        }
+        return items;
+    }
+
+    private static Account account(int i) {
+        return new Account((long) 1_000_000 + i, "Account " + i, "ENABLED", "USD", "Europe/Berlin", null,
+                i == 0, (long) (i == 0 ? 0 : 1), null);
+    }
+
+    private Campaign campaign(int i) {
+        return new Campaign((long) i, "1000000", "Campaign " + i, "ENABLED", "SERVING", "2024-01-01", "2024-12-31",
+                0.8, "SEARCH", "MAXIMIZE_CONVERSIONS", null, "1000", null);
+    }
+
+    private Group group(int i) {
+        return new Group((long) 10_000 + i, 1_000_000L, (long) i / 10, "Ad group " + i, "ENABLED", "SEARCH_STANDARD",
+                "TARGET_CPA", null);
+    }
+
+    private Ads ad(int i) {
+        return new Ads((long) 100_000 + i, 1_000_000L, 10_000L + i / 10, (long) i / 100, "Ad " + i, "ENABLED",
+                "RESPONSIVE_SEARCH_AD", raw(i), "https://cdn.example.com/creatives/" + i + ".png", null);
+    }
+
+    private Keyword keyword(int i) {
+        return new Keyword((long) 1_000_000 + i, 1_000_000L, "keyword " + i, "EXACT", "ENABLED", "Ad group " + i / 50,
+                (long) i / 500, 10_000L + i / 50, raw(i), null);
+    }
+
+    private String raw(int i) {
+        StringBuilder raw = new StringBuilder(profile.rawBytes() + 32).append("{\"resourceName\":\"entities/").append(i).append('"');
+        if (raw.length() < profile.rawBytes()) {
+            raw.append(",\"padding\":\"").append("x".repeat(profile.rawBytes() - raw.length())).append('"');
+        }
+        return raw.append('}').toString();
+    }
+
+    private static byte[] json(Object value) throws IOException {
+        return OBJECT_MAPPER.writeValueAsBytes(value);
+    }
+}
@@ -0,0 +1,17 @@
+package com.pubgateway.dispatcher.cache;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Identifies one cached upstream list call: the publisher, the client operation,
+ * the customer/account it was issued for and every filter parameter passed along.
+ */
+public record CacheKey(Publisher publisher, String operation, String customerId, List<String> params) {
+
+    public static CacheKey of(Publisher publisher, String operation, String customerId, String... params) {
+        return new CacheKey(publisher, operation, customerId, Arrays.asList(params));
+    }
+}
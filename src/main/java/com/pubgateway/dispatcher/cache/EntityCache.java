@@ -0,0 +1,88 @@
+package com.pubgateway.dispatcher.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pubgateway.dispatcher.config.CacheProperties;
+import com.pubgateway.dispatcher.enumeration.EntityType;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for publisher list calls. One Caffeine cache per {@link EntityType},
+ * each with its own TTL and entity-count bound. Hit/miss/eviction statistics are published
+ * through Micrometer as {@code cache.*} meters tagged {@code cache=dispatcher.<type>}.
+ */
+@Slf4j
+@Component
+public class EntityCache {
+
+    private final CacheProperties properties;
+    private final SingleFlight singleFlight;
+    private final Map<EntityType, Cache<CacheKey, List<?>>> caches = new EnumMap<>(EntityType.class);
+    private final Map<EntityType, AtomicLongArray> generations = new EnumMap<>(EntityType.class);
+
+    public EntityCache(CacheProperties properties, SingleFlight singleFlight, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.singleFlight = singleFlight;
+        for (EntityType type : EntityType.values()) {
+            CacheProperties.Entity settings = properties.forType(type);
+            Cache<CacheKey, List<?>> cache = Caffeine.newBuilder()
+                    .expireAfterWrite(settings.getTtl())
+                    .maximumWeight(settings.getMaxEntities())
+                    .weigher((CacheKey key, List<?> value) -> value.size() + 1)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "dispatcher." + type.name().toLowerCase());
+            caches.put(type, cache);
+            generations.put(type, new AtomicLongArray(Publisher.values().length));
+        }
+    }
+
+    /**
+     * Return the cached list for the key, loading it through {@code loader} on a miss.
+     * Concurrent misses for the same key share a single upstream call: Caffeine's atomic load does that
+     * when caching is enabled, {@link SingleFlight} when it is disabled.
+     * <p>
+     * A list whose load overlapped an {@link #invalidate} of its publisher and type may predate the write
+     * that caused it, so it is returned to its callers but not kept.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(EntityType type, CacheKey key, Supplier<List<T>> loader) {
+        if (!properties.isEnabled()) {
+            return singleFlight.execute(key, () -> load(loader));
+        }
+        Cache<CacheKey, List<?>> cache = caches.get(type);
+        AtomicLongArray typeGenerations = generations.get(type);
+        int publisher = key.publisher().ordinal();
+        long generation = typeGenerations.get(publisher);
+        List<?> list = cache.get(key, k -> load(loader));
+        if (typeGenerations.get(publisher) != generation) {
+            cache.asMap().remove(key, list);
+        }
+        return (List<T>) list;
+    }
+
+    private static <T> List<T> load(Supplier<List<T>> loader) {
+        List<T> loaded = loader.get();
+        return loaded != null ? Collections.unmodifiableList(loaded) : Collections.emptyList();
+    }
+
+    /**
+     * Drop every cached list of the given type that was fetched from the given publisher
+     */
+    public void invalidate(Publisher publisher, EntityType type) {
+        generations.get(type).incrementAndGet(publisher.ordinal());
+        caches.get(type).asMap().keySet().removeIf(key -> key.publisher() == publisher);
+        log.debug("Invalidated cached {} lists for {}", type, publisher);
+    }
+}
@@ -0,0 +1,73 @@
+package com.pubgateway.dispatcher.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pubgateway.dispatcher.config.CacheProperties;
+import com.pubgateway.dispatcher.enumeration.EntityType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Id lookup for publishers without single-entity endpoints, filled as a side effect of list fetches.
+ * Entities are indexed with the TTL of their type, so a hit is never older than the cached lists;
+ * the id to owning customer mapping is kept much longer, so that a stale or evicted entity can be
+ * reloaded by refetching only its customer. Exported as {@code cache.*} meters tagged
+ * {@code cache=dispatcher.index.<type>} and {@code cache=dispatcher.owners.<type>}.
+ */
+@Component
+public class EntityIndex {
+
+    private final Map<EntityType, Cache<Long, Object>> entities = new EnumMap<>(EntityType.class);
+    private final Map<EntityType, Cache<Long, String>> owners = new EnumMap<>(EntityType.class);
+
+    public EntityIndex(CacheProperties properties, MeterRegistry meterRegistry) {
+        for (EntityType type : EntityType.values()) {
+            CacheProperties.Entity settings = properties.forType(type);
+            String name = type.name().toLowerCase();
+            Cache<Long, Object> byId = Caffeine.newBuilder()
+                    .expireAfterWrite(settings.getTtl())
+                    .maximumSize(settings.getMaxEntities())
+                    .recordStats()
+                    .build();
+            Cache<Long, String> owner = Caffeine.newBuilder()
+                    .expireAfterAccess(properties.getOwnerTtl())
+                    .maximumSize(settings.getMaxEntities())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, byId, "dispatcher.index." + name);
+            CaffeineCacheMetrics.monitor(meterRegistry, owner, "dispatcher.owners." + name);
+            entities.put(type, byId);
+            owners.put(type, owner);
+        }
+    }
+
+    public <T> void put(EntityType type, String customerId, Collection<T> items, Function<T, Long> id) {
+        items.forEach(item -> put(type, customerId, item, id));
+    }
+
+    public <T> void put(EntityType type, String customerId, T item, Function<T, Long> id) {
+        Long key = id.apply(item);
+        if (key != null) {
+            entities.get(type).put(key, item);
+            owners.get(type).put(key, customerId);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(EntityType type, long id) {
+        return (T) entities.get(type).getIfPresent(id);
+    }
+
+    /**
+     * Customer the entity was last listed under, or {@code null} if it was never seen
+     */
+    public String owner(EntityType type, long id) {
+        return owners.get(type).getIfPresent(id);
+    }
+}
@@ -0,0 +1,112 @@
+package com.pubgateway.dispatcher.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pubgateway.dispatcher.config.PagingProperties;
+import com.pubgateway.dispatcher.exception.InvalidRequestException;
+import com.pubgateway.dispatcher.model.response.Page;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Dispatcher-side cursor for plugins that cannot page. The first page request captures the
+ * full (usually already cached) list as a short-lived snapshot; the returned page token
+ * points into that snapshot, so later pages neither re-fetch nor re-filter anything.
+ * A snapshot remembers the query (publisher, operation, customer and filters) it was taken for,
+ * and its tokens are rejected for any other query.
+ */
+@Component
+public class PageSnapshots {
+
+    private static final String TOKEN_PREFIX = "dsp_";
+    private static final char SEPARATOR = '_';
+
+    private final PagingProperties properties;
+    private final Cache<String, Snapshot> snapshots;
+
+    public PageSnapshots(PagingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getSnapshotTtl())
+                .maximumWeight(properties.getMaxSnapshotEntities())
+                .weigher((String key, Snapshot value) -> value.items().size() + 1)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "dispatcher.page-snapshots");
+    }
+
+    /**
+     * Validate the requested page size, falling back to the configured default
+     */
+    public int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return properties.getDefaultPageSize();
+        }
+        if (pageSize < 1 || pageSize > properties.getMaxPageSize()) {
+            throw new InvalidRequestException("pageSize must be between 1 and " + properties.getMaxPageSize());
+        }
+        return pageSize;
+    }
+
+    /**
+     * Return one page of the snapshot. Without a page token a new snapshot of {@code query} is taken
+     * from {@code source}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> page(CacheKey query, Integer pageSize, String pageToken, Supplier<List<T>> source) {
+        int size = resolvePageSize(pageSize);
+        if (pageToken == null || pageToken.isEmpty()) {
+            List<T> items = source.get();
+            if (items.size() <= size) {
+                return new Page<>(items, null);
+            }
+            String snapshotId = UUID.randomUUID().toString().replace("-", "");
+            snapshots.put(snapshotId, new Snapshot(query, items));
+            return slice(items, snapshotId, 0, size);
+        }
+
+        if (!pageToken.startsWith(TOKEN_PREFIX)) {
+            throw new InvalidRequestException("Unknown page token");
+        }
+        int separator = pageToken.indexOf(SEPARATOR, TOKEN_PREFIX.length());
+        if (separator <= TOKEN_PREFIX.length()) {
+            throw new InvalidRequestException("Malformed page token");
+        }
+        String snapshotId = pageToken.substring(TOKEN_PREFIX.length(), separator);
+        int offset;
+        try {
+            offset = Integer.parseInt(pageToken.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Malformed page token");
+        }
+        Snapshot snapshot = snapshots.getIfPresent(snapshotId);
+        if (snapshot == null) {
+            throw new InvalidRequestException("Page token expired, restart from the first page");
+        }
+        if (!snapshot.query().equals(query)) {
+            throw new InvalidRequestException("Page token belongs to a different query");
+        }
+        if (offset < 0 || offset > snapshot.items().size()) {
+            throw new InvalidRequestException("Malformed page token");
+        }
+        return slice((List<T>) snapshot.items(), snapshotId, offset, size);
+    }
+
+    private <T> Page<T> slice(List<T> items, String snapshotId, int offset, int size) {
+        int from = offset;
+        int to = Math.min(from + size, items.size());
+        if (to >= items.size()) {
+            snapshots.invalidate(snapshotId);
+            return new Page<>(items.subList(from, to), null);
+        }
+        return new Page<>(items.subList(from, to), TOKEN_PREFIX + snapshotId + SEPARATOR + to);
+    }
+
+    private record Snapshot(CacheKey query, List<?> items) {
+    }
+}
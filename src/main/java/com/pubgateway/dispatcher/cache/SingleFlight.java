@@ -0,0 +1,87 @@
+package com.pubgateway.dispatcher.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent upstream reads: while a call for a key is in flight,
+ * other callers with the same key wait for its result instead of issuing their own.
+ * Waiters give up after the plugin read timeout rather than hanging on a stuck call.
+ * Exported as {@code dispatcher.upstream.reads{result=issued|coalesced}}.
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter issued;
+    private final Counter coalesced;
+    private final Duration waitTimeout;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${spring.cloud.openfeign.client.config.default.readTimeout:10000}") long waitTimeoutMillis) {
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMillis);
+        this.issued = Counter.builder("dispatcher.upstream.reads")
+                .description("Upstream reads, by whether they were sent to the plugin or joined an in-flight call")
+                .tag("result", "issued")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("dispatcher.upstream.reads")
+                .description("Upstream reads, by whether they were sent to the plugin or joined an in-flight call")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("dispatcher.upstream.reads.in.flight", inFlight, ConcurrentHashMap::size)
+                .description("Distinct upstream reads currently in flight")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(key, existing);
+        }
+        issued.increment();
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(Object key, CompletableFuture<Object> call) {
+        try {
+            return call.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out after " + waitTimeout + " waiting for in-flight read " + key, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight read " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.pubgateway.dispatcher.client;
+
+import com.pubgateway.dispatcher.config.JsonProperties;
+import com.pubgateway.dispatcher.enumeration.ContentFormat;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asks plugins configured under {@code dispatcher.json.plugin-formats} for a binary response format,
+ * with JSON as fallback. Responses are decoded by their Content-Type, so a plugin ignoring the
+ * preference keeps working.
+ */
+@Component
+@RequiredArgsConstructor
+public class AcceptFormatInterceptor implements RequestInterceptor {
+
+    private static final String JSON_FALLBACK = MediaType.APPLICATION_JSON_VALUE + ";q=0.9";
+
+    private final JsonProperties properties;
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (template.feignTarget() == null || !"GET".equals(template.method())) {
+            return;
+        }
+        ContentFormat format = properties.formatFor(template.feignTarget().name());
+        if (format != ContentFormat.JSON) {
+            template.removeHeader(HttpHeaders.ACCEPT);
+            template.header(HttpHeaders.ACCEPT, format.getMediaType().toString(), JSON_FALLBACK);
+        }
+    }
+}
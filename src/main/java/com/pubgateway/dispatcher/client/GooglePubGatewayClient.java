@@ -5,6 +5,7 @@ import com.pubgateway.dispatcher.model.response.AdsResponse;
 import com.pubgateway.dispatcher.model.response.CampaignResponse;
 import com.pubgateway.dispatcher.model.response.AdGroupResponse;
 import com.pubgateway.dispatcher.model.response.KeywordsResponse;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,6 +34,8 @@ public interface GooglePubGatewayClient {
      * @param channelType Filter by channel type (SEARCH, DISPLAY, VIDEO, etc.)
      * @param startDateFrom Filter campaigns starting from this date (YYYY-MM-DD)
      * @param startDateTo Filter campaigns starting before this date (YYYY-MM-DD)
+     * @param pageSize Maximum number of campaigns to return (plugin paging, optional)
+     * @param pageToken nextPageToken from a previous page
      * @return CampaignResponse containing list of campaigns
      */
     @GetMapping("/campaigns")
@@ -42,7 +45,9 @@ public interface GooglePubGatewayClient {
             @RequestParam(value = "nameContains", required = false) String nameContains,
             @RequestParam(value = "channelType", required = false) String channelType,
             @RequestParam(value = "startDateFrom", required = false) String startDateFrom,
-            @RequestParam(value = "startDateTo", required = false) String startDateTo
+            @RequestParam(value = "startDateTo", required = false) String startDateTo,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize,
+            @RequestParam(value = "pageToken", required = false) String pageToken
     );
 
     /**
@@ -51,6 +56,8 @@ public interface GooglePubGatewayClient {
      * @param adGroupName Filter ad groups where name contains this string
      * @param status Ad group status (ENABLED, PAUSED, REMOVED)
      * @param campaignId Filter by parent campaign ID
+     * @param pageSize Maximum number of ad groups to return (plugin paging, optional)
+     * @param pageToken nextPageToken from a previous page
      * @return AdGroupResponse containing list of ad groups
      */
     @GetMapping("/groups")
@@ -58,7 +65,9 @@ public interface GooglePubGatewayClient {
             @RequestParam(value = "customerId") String customerId,
             @RequestParam(value = "adGroupName", required = false) String adGroupName,
             @RequestParam(value = "status", required = false) String status,
-            @RequestParam(value = "campaignId", required = false) String campaignId
+            @RequestParam(value = "campaignId", required = false) String campaignId,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize,
+            @RequestParam(value = "pageToken", required = false) String pageToken
     );
 
     /**
@@ -67,6 +76,8 @@ public interface GooglePubGatewayClient {
      * @param adGroupId Filter by ad group ID
      * @param status Ad status (ENABLED, PAUSED, REMOVED)
      * @param textContains Filter ads where text fields contain this string
+     * @param pageSize Maximum number of ads to return (plugin paging, optional)
+     * @param pageToken nextPageToken from a previous page
      * @return AdsResponse containing list of ads
      */
     @GetMapping("/ads")
@@ -74,7 +85,9 @@ public interface GooglePubGatewayClient {
             @RequestParam(value = "customerId") String customerId,
             @RequestParam(value = "adGroupId", required = false) String adGroupId,
             @RequestParam(value = "status", required = false) String status,
-            @RequestParam(value = "textContains", required = false) String textContains
+            @RequestParam(value = "textContains", required = false) String textContains,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize,
+            @RequestParam(value = "pageToken", required = false) String pageToken
     );
 
     /**
@@ -84,10 +97,65 @@ public interface GooglePubGatewayClient {
      * @param status Keyword status (ENABLED, PAUSED, REMOVED)
      * @param matchType Keyword match type (BROAD, PHRASE, EXACT)
      * @param textContains Filter keywords where text contains this string
+     * @param pageSize Maximum number of keywords to return (plugin paging, optional)
+     * @param pageToken nextPageToken from a previous page
      * @return KeywordsResponse containing list of keywords
      */
     @GetMapping("/keywords")
     KeywordsResponse getKeywords(
+            @RequestParam(value = "customerId") String customerId,
+            @RequestParam(value = "adGroupId", required = false) String adGroupId,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "matchType", required = false) String matchType,
+            @RequestParam(value = "textContains", required = false) String textContains,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize,
+            @RequestParam(value = "pageToken", required = false) String pageToken
+    );
+
+    /**
+     * Same as {@link #getCampaigns} but returns the undecoded response so the body can be streamed.
+     * The caller must close the response.
+     */
+    @GetMapping("/campaigns")
+    Response streamCampaigns(
+            @RequestParam(value = "customerId") String customerId,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "nameContains", required = false) String nameContains,
+            @RequestParam(value = "channelType", required = false) String channelType,
+            @RequestParam(value = "startDateFrom", required = false) String startDateFrom,
+            @RequestParam(value = "startDateTo", required = false) String startDateTo
+    );
+
+    /**
+     * Same as {@link #getAdGroups} but returns the undecoded response so the body can be streamed.
+     * The caller must close the response.
+     */
+    @GetMapping("/groups")
+    Response streamAdGroups(
+            @RequestParam(value = "customerId") String customerId,
+            @RequestParam(value = "adGroupName", required = false) String adGroupName,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "campaignId", required = false) String campaignId
+    );
+
+    /**
+     * Same as {@link #getAds} but returns the undecoded response so the body can be streamed.
+     * The caller must close the response.
+     */
+    @GetMapping("/ads")
+    Response streamAds(
+            @RequestParam(value = "customerId") String customerId,
+            @RequestParam(value = "adGroupId", required = false) String adGroupId,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "textContains", required = false) String textContains
+    );
+
+    /**
+     * Same as {@link #getKeywords} but returns the undecoded response so the body can be streamed.
+     * The caller must close the response.
+     */
+    @GetMapping("/keywords")
+    Response streamKeywords(
             @RequestParam(value = "customerId") String customerId,
             @RequestParam(value = "adGroupId", required = false) String adGroupId,
             @RequestParam(value = "status", required = false) String status,
@@ -0,0 +1,344 @@
+package com.pubgateway.dispatcher.client;
+
+import com.pubgateway.dispatcher.config.HedgingProperties;
+import com.pubgateway.dispatcher.loadbalancer.InstanceStats;
+import com.pubgateway.dispatcher.resilience.PluginGuard;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hedges idempotent (GET) plugin requests across plugin instances. The request goes to the
+ * instance picked by the load balancer; if it has not answered within the plugin's recent p95
+ * latency, the same request is sent to the best scoring other instance in the load balancer's
+ * list ({@link InstanceStats}) and whichever answers successfully first wins; a 5xx or 429 answer
+ * only wins when the other attempt fails too. The losing response is closed when it arrives.
+ * <p>
+ * Hedges are rate limited per plugin by a token budget: every request earns
+ * {@code budget-ratio} tokens (capped at {@code budget-burst}) and a hedge spends one, so a
+ * plugin that is slow everywhere is not hit with double load. A hedge is also an extra plugin
+ * call for the {@link PluginGuard}: it is only sent when the guarded call's bulkhead and rate
+ * limits have room for it.
+ */
+@Slf4j
+@Component
+public class HedgingClient implements Client, DisposableBean {
+
+    private static final long TOKEN = 1_000;
+
+    private final Client delegate;
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final InstanceStats instanceStats;
+    private final PluginGuard guard;
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("plugin-hedge-", 0).factory());
+    private final Map<String, PluginStats> stats = new ConcurrentHashMap<>();
+
+    public HedgingClient(PluginHttpClients pluginHttpClients, LoadBalancerClientFactory loadBalancerClientFactory,
+                         InstanceStats instanceStats, PluginGuard guard, HedgingProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.delegate = pluginHttpClients;
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.instanceStats = instanceStats;
+        this.guard = guard;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String plugin = pluginName(request);
+        if (!properties.isEnabled() || plugin == null || request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+        PluginStats pluginStats = stats.computeIfAbsent(plugin, this::newStats);
+        pluginStats.earnBudget();
+        ServiceInstance alternate = alternateInstance(plugin, URI.create(request.url()));
+        if (alternate == null) {
+            return timed(pluginStats, request, options);
+        }
+
+        CompletableFuture<Response> primary = CompletableFuture.supplyAsync(
+                () -> unchecked(() -> timed(pluginStats, request, options)), executor);
+        try {
+            return primary.get(pluginStats.hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!pluginStats.spendBudget()) {
+                pluginStats.budgetExhausted.increment();
+                return await(primary);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.thenAccept(HedgingClient::closeQuietly);
+            throw new IOException("Interrupted while waiting for " + plugin, e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+
+        Runnable release = guard.tryAcquireHedge();
+        if (release == null) {
+            pluginStats.refundBudget();
+            pluginStats.guardRejected.increment();
+            return await(primary);
+        }
+        pluginStats.issued.increment();
+        Request hedgeRequest = retarget(request, alternate);
+        log.debug("Hedging {} {} to {}", plugin, request.url(), alternate.getUri());
+        CompletableFuture<Response> hedge = CompletableFuture.supplyAsync(
+                () -> unchecked(() -> delegate.execute(hedgeRequest, options)), executor);
+        hedge.whenComplete((response, error) -> release.run());
+        return await(firstSuccessful(primary, hedge, pluginStats));
+    }
+
+    private Response timed(PluginStats pluginStats, Request request, Request.Options options) throws IOException {
+        long start = System.nanoTime();
+        Response response = delegate.execute(request, options);
+        pluginStats.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    private static CompletableFuture<Response> firstSuccessful(CompletableFuture<Response> primary,
+                                                              CompletableFuture<Response> hedge,
+                                                              PluginStats pluginStats) {
+        Race race = new Race();
+        primary.whenComplete((response, error) -> race.settle(response, error, null));
+        hedge.whenComplete((response, error) -> race.settle(response, error, pluginStats.won));
+        return race.winner;
+    }
+
+    /**
+     * A 5xx or 429 answer is a failed attempt: another instance may well succeed.
+     */
+    static boolean isFailure(Response response) {
+        return response.status() >= 500 || response.status() == 429;
+    }
+
+    /**
+     * Outcome of the primary attempt and its hedge. The first successful response wins; a failed
+     * response is held back until the other attempt settles and is only returned when that one
+     * fails as well, so the caller sees the plugin's own error rather than a synthetic one.
+     */
+    private static final class Race {
+        private final CompletableFuture<Response> winner = new CompletableFuture<>();
+        private int pending = 2;
+        private Response failed;
+        private Throwable error;
+
+        synchronized void settle(Response response, Throwable error, Counter wonCounter) {
+            pending--;
+            if (winner.isDone()) {
+                closeQuietly(response);
+                return;
+            }
+            if (error == null && !isFailure(response)) {
+                if (wonCounter != null) {
+                    wonCounter.increment();
+                }
+                closeQuietly(failed);
+                winner.complete(response);
+                return;
+            }
+            if (error != null) {
+                this.error = error;
+            } else if (failed == null) {
+                failed = response;
+            } else {
+                closeQuietly(response);
+            }
+            if (pending == 0) {
+                if (failed != null) {
+                    winner.complete(failed);
+                } else {
+                    winner.completeExceptionally(this.error);
+                }
+            }
+        }
+    }
+
+    /**
+     * The best scoring instance other than {@code current}, from the same (cached, health checked)
+     * instance list the load balancer chooses from.
+     */
+    private ServiceInstance alternateInstance(String plugin, URI current) {
+        ServiceInstanceListSupplier supplier = loadBalancerClientFactory.getInstance(plugin, ServiceInstanceListSupplier.class);
+        List<ServiceInstance> instances = supplier != null ? supplier.get().blockFirst() : null;
+        if (instances == null) {
+            return null;
+        }
+        return instanceStats.best(instances.stream()
+                .filter(instance -> !(instance.getHost().equalsIgnoreCase(current.getHost())
+                        && instance.getPort() == current.getPort()))
+                .toList());
+    }
+
+    private static Request retarget(Request request, ServiceInstance instance) {
+        URI original = URI.create(request.url());
+        String url = instance.getUri().toString() + original.getRawPath()
+                + (original.getRawQuery() != null ? "?" + original.getRawQuery() : "");
+        return Request.create(request.httpMethod(), url, request.headers(), request.body(),
+                request.charset(), request.requestTemplate());
+    }
+
+    private static String pluginName(Request request) {
+        Target<?> target = request.requestTemplate() != null ? request.requestTemplate().feignTarget() : null;
+        return target != null ? target.name() : null;
+    }
+
+    private PluginStats newStats(String plugin) {
+        return new PluginStats(
+                Timer.builder("dispatcher.hedge.primary.latency")
+                        .description("Latency of first-attempt GET requests, used to derive the hedge delay")
+                        .tag("plugin", plugin)
+                        .publishPercentiles(properties.getPercentile())
+                        .distributionStatisticExpiry(Duration.ofMinutes(1))
+                        .register(meterRegistry),
+                Counter.builder("dispatcher.hedge.issued").tag("plugin", plugin).register(meterRegistry),
+                Counter.builder("dispatcher.hedge.won").tag("plugin", plugin).register(meterRegistry),
+                Counter.builder("dispatcher.hedge.budget.exhausted").tag("plugin", plugin).register(meterRegistry),
+                Counter.builder("dispatcher.hedge.guard.rejected")
+                        .description("Hedges not sent because the plugin's bulkhead or rate limit had no room")
+                        .tag("plugin", plugin)
+                        .register(meterRegistry));
+    }
+
+    private static Response await(CompletableFuture<Response> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.thenAccept(HedgingClient::closeQuietly);
+            throw new IOException("Interrupted while waiting for plugin response", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static IOException rethrow(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof UncheckedIOException unchecked) {
+            return unchecked.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IOException(cause);
+    }
+
+    private static Response unchecked(IoCall call) {
+        try {
+            return call.execute();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void closeQuietly(Response response) {
+        if (response != null) {
+            response.close();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface IoCall {
+        Response execute() throws IOException;
+    }
+
+    private final class PluginStats {
+        private final Timer latency;
+        private final Counter issued;
+        private final Counter won;
+        private final Counter budgetExhausted;
+        private final Counter guardRejected;
+        private final AtomicLong budget = new AtomicLong();
+        private volatile long delayNanos = properties.getInitialDelay().toNanos();
+        private volatile long refreshAt;
+
+        private PluginStats(Timer latency, Counter issued, Counter won, Counter budgetExhausted, Counter guardRejected) {
+            this.latency = latency;
+            this.issued = issued;
+            this.won = won;
+            this.budgetExhausted = budgetExhausted;
+            this.guardRejected = guardRejected;
+        }
+
+        void earnBudget() {
+            long earned = (long) (properties.getBudgetRatio() * TOKEN);
+            long cap = properties.getBudgetBurst() * TOKEN;
+            budget.updateAndGet(current -> Math.min(cap, current + earned));
+        }
+
+        boolean spendBudget() {
+            while (true) {
+                long current = budget.get();
+                if (current < TOKEN) {
+                    return false;
+                }
+                if (budget.compareAndSet(current, current - TOKEN)) {
+                    return true;
+                }
+            }
+        }
+
+        void refundBudget() {
+            long cap = properties.getBudgetBurst() * TOKEN;
+            budget.updateAndGet(current -> Math.min(cap, current + TOKEN));
+        }
+
+        /**
+         * The percentile is read from the timer's rolling histogram at most once a second.
+         */
+        long hedgeDelayNanos() {
+            long now = System.nanoTime();
+            if (now - refreshAt > 0) {
+                refreshAt = now + TimeUnit.SECONDS.toNanos(1);
+                if (latency.count() >= properties.getMinSamples()) {
+                    for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                        long nanos = (long) value.value(TimeUnit.NANOSECONDS);
+                        delayNanos = Math.max(properties.getMinDelay().toNanos(),
+                                Math.min(properties.getMaxDelay().toNanos(), nanos));
+                    }
+                }
+            }
+            return delayNanos;
+        }
+    }
+}
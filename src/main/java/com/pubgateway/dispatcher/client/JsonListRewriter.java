@@ -0,0 +1,153 @@
+package com.pubgateway.dispatcher.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.pubgateway.dispatcher.enumeration.ContentFormat;
+import com.pubgateway.dispatcher.json.DataFormats;
+import feign.Response;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Streams a plugin list response to the client token by token, without binding entities. The entity
+ * array is written out as a bare JSON array, the way the dispatcher serializes {@code List<T>}; heap use
+ * does not depend on the size of the response.
+ */
+@Component
+public class JsonListRewriter {
+
+    /**
+     * How each entity is rewritten.
+     *
+     * @param arrayField field of the plugin response holding the entities
+     * @param fields     fields written, {@code null} for all ({@code ?fields=})
+     * @param inject     fields set on every entity, replacing whatever the plugin sent
+     * @param drop       fields left out
+     * @param raw        {@link com.pubgateway.dispatcher.json.RawJson} fields
+     * @param embedRaw   write raw fields verbatim as JSON rather than as JSON strings
+     */
+    public record Spec(String arrayField, Set<String> fields, Map<String, String> inject, Set<String> drop,
+                       Set<String> raw, boolean embedRaw) {
+
+        boolean writes(String field) {
+            return (fields == null || fields.contains(field)) && !drop.contains(field);
+        }
+    }
+
+    private final JsonFactory jsonFactory;
+    private final DataFormats dataFormats;
+
+    public JsonListRewriter(DataFormats dataFormats) {
+        this.jsonFactory = dataFormats.mapper(ContentFormat.JSON).getFactory();
+        this.dataFormats = dataFormats;
+    }
+
+    /**
+     * Checks the status eagerly, so plugin errors surface before the response is committed.
+     * The returned body owns the plugin response and closes it.
+     *
+     * @param onComplete receives the number of entities written
+     */
+    public StreamingResponseBody rewrite(Response response, Spec spec, LongConsumer onComplete) {
+        ResponseStreamReader.ensureSuccess(response);
+        return out -> {
+            try (response) {
+                long count = response.body() == null
+                        ? writeEmpty(out)
+                        : rewrite(dataFormats.mapperFor(response).getFactory(), response.body().asInputStream(), out, spec);
+                onComplete.accept(count);
+            }
+        };
+    }
+
+    /**
+     * @param parserFactory format of the plugin response; the output is always JSON
+     */
+    long rewrite(JsonFactory parserFactory, InputStream in, OutputStream out, Spec spec) throws IOException {
+        long count = 0;
+        try (JsonParser parser = parserFactory.createParser(in);
+             JsonGenerator generator = jsonFactory.createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+            if (ResponseStreamReader.seekArray(parser, spec.arrayField())) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    if (token != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    rewriteEntity(parser, generator, spec);
+                    count++;
+                }
+            }
+            generator.writeEndArray();
+        }
+        return count;
+    }
+
+    private void rewriteEntity(JsonParser parser, JsonGenerator generator, Spec spec) throws IOException {
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (spec.inject().containsKey(name) || !spec.writes(name)) {
+                parser.skipChildren();
+                continue;
+            }
+            generator.writeFieldName(name);
+            if (spec.raw().contains(name)) {
+                writeRaw(parser, generator, value, spec.embedRaw());
+            } else {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+        for (Map.Entry<String, String> field : spec.inject().entrySet()) {
+            if (spec.writes(field.getKey())) {
+                generator.writeStringField(field.getKey(), field.getValue());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Same output as {@link com.pubgateway.dispatcher.json.RawJsonModule} for a value read by
+     * {@link com.pubgateway.dispatcher.json.RawJsonDeserializer}.
+     */
+    private void writeRaw(JsonParser parser, JsonGenerator generator, JsonToken value, boolean embed) throws IOException {
+        boolean structured = value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY;
+        if (structured == embed) {
+            generator.copyCurrentStructure(parser);
+        } else if (structured) {
+            SegmentedStringWriter text = new SegmentedStringWriter(new BufferRecycler());
+            try (JsonGenerator copy = jsonFactory.createGenerator(text)) {
+                copy.copyCurrentStructure(parser);
+            }
+            generator.writeString(text.getAndClear());
+        } else if (value == JsonToken.VALUE_STRING && isStructured(parser.getText())) {
+            generator.writeRawValue(parser.getText());
+        } else {
+            generator.copyCurrentStructure(parser);
+        }
+    }
+
+    private static long writeEmpty(OutputStream out) throws IOException {
+        out.write(new byte[]{'[', ']'});
+        return 0;
+    }
+
+    private static boolean isStructured(String text) {
+        String trimmed = text.stripLeading();
+        return trimmed.startsWith("{") || trimmed.startsWith("[");
+    }
+}
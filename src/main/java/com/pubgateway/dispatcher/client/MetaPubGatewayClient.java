@@ -4,6 +4,7 @@ import com.pubgateway.dispatcher.model.Account;
 import com.pubgateway.dispatcher.model.Ads;
 import com.pubgateway.dispatcher.model.Campaign;
 import com.pubgateway.dispatcher.model.Group;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
@@ -60,6 +61,13 @@ public interface MetaPubGatewayClient {
     @GetMapping("/ads")
     List<Ads> getAds(@RequestParam(value = "customerId", required = false) String customerId, @RequestParam(value = "adGroupId", required = false) String adGroupId);
 
+    /**
+     * Same as {@link #getAds} but returns the undecoded response so the body can be streamed.
+     * The caller must close the response.
+     */
+    @GetMapping("/ads")
+    Response streamAds(@RequestParam(value = "customerId", required = false) String customerId, @RequestParam(value = "adGroupId", required = false) String adGroupId);
+
     @GetMapping("/ads/{id}")
     Ads getAd(@PathVariable("id") String id);
 
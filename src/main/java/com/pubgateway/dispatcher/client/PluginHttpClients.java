@@ -0,0 +1,132 @@
+package com.pubgateway.dispatcher.client;
+
+import com.pubgateway.dispatcher.config.HttpClientProperties;
+import com.pubgateway.dispatcher.loadbalancer.InstanceStats;
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feign transport with one pooled Apache HttpClient 5 per plugin, so pool sizing, keep-alive
+ * and idle eviction can be tuned per plugin and a burst against one plugin cannot take
+ * connections from another. Requests are routed by Feign client name (the plugin's service id).
+ * Each pool is exported as {@code httpcomponents.httpclient.pool.*} tagged {@code httpclient=<plugin>},
+ * covering leased, available (idle) and pending connections. Response compression (gzip/deflate)
+ * is negotiated and decoded by HttpClient itself. Every request is timed per plugin instance
+ * as {@code dispatcher.upstream.requests} and fed to {@link InstanceStats} for load balancing.
+ */
+@Slf4j
+@Component
+public class PluginHttpClients implements Client, DisposableBean {
+
+    static final List<String> PLUGINS = List.of("google-pubgateway-plugin", "meta-pubgateway-plugin");
+    private static final String DEFAULT_POOL = "default";
+
+    private final HttpClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final DispatcherMetrics metrics;
+    private final InstanceStats instanceStats;
+    private final Map<String, Pooled> clients = new ConcurrentHashMap<>();
+
+    public PluginHttpClients(HttpClientProperties properties, MeterRegistry meterRegistry, DispatcherMetrics metrics,
+                             InstanceStats instanceStats) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.metrics = metrics;
+        this.instanceStats = instanceStats;
+        PLUGINS.forEach(this::clientFor);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        RequestTemplate template = request.requestTemplate();
+        Target<?> target = template != null ? template.feignTarget() : null;
+        String plugin = target != null ? target.name() : DEFAULT_POOL;
+        String operation = template != null && template.methodMetadata() != null
+                ? template.methodMetadata().method().getName() : "unknown";
+        URI uri = URI.create(request.url());
+        String instance = uri.getHost() + ":" + uri.getPort();
+        instanceStats.onStart(plugin, instance);
+        long start = System.nanoTime();
+        try {
+            Response response = clientFor(plugin).client().execute(request, options);
+            long latency = System.nanoTime() - start;
+            instanceStats.onComplete(plugin, instance, latency, false);
+            metrics.recordUpstream(plugin, operation, instance, DispatcherMetrics.outcome(response.status()), latency);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            long latency = System.nanoTime() - start;
+            instanceStats.onComplete(plugin, instance, latency, true);
+            metrics.recordUpstream(plugin, operation, instance, "IO_ERROR", latency);
+            throw e;
+        }
+    }
+
+    private Pooled clientFor(String plugin) {
+        return clients.computeIfAbsent(plugin, this::create);
+    }
+
+    private Pooled create(String plugin) {
+        HttpClientProperties.Pool pool = properties.forPlugin(plugin);
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxConnections())
+                .setMaxConnPerRoute(pool.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(timeValue(pool.getTimeToLive()))
+                        .setValidateAfterInactivity(timeValue(pool.getValidateAfterInactivity()))
+                        .build())
+                .build();
+        TimeValue keepAlive = timeValue(pool.getKeepAlive());
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(timeValue(pool.getIdleEviction()))
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .disableCookieManagement()
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, plugin).bindTo(meterRegistry);
+        log.info("Created connection pool for {} (max {}, per instance {})",
+                plugin, pool.getMaxConnections(), pool.getMaxConnectionsPerRoute());
+        return new Pooled(httpClient, new ApacheHttp5Client(httpClient));
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        clients.values().forEach(pooled -> {
+            try {
+                pooled.httpClient().close();
+            } catch (IOException e) {
+                log.warn("Failed to close HTTP client: {}", e.getMessage());
+            }
+        });
+    }
+
+    private record Pooled(CloseableHttpClient httpClient, Client client) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.pubgateway.dispatcher.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pubgateway.dispatcher.json.DataFormats;
+import com.pubgateway.dispatcher.json.RawJsonSupport;
+import feign.FeignException;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decodes the entity array of a raw plugin response one element at a time, so that
+ * large lists never have to be held in memory as a whole. The returned stream owns
+ * the upstream connection and must be closed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseStreamReader {
+
+    private final DataFormats dataFormats;
+
+    /**
+     * @param response   raw Feign response (closed together with the returned stream)
+     * @param arrayField top-level field holding the entity array, or {@code null} if the body is the array itself
+     * @param type       entity type of the array elements
+     */
+    public <T> Stream<T> stream(Response response, String arrayField, Class<T> type) {
+        ensureSuccess(response);
+        if (response.body() == null) {
+            response.close();
+            return Stream.empty();
+        }
+        // Plugins may answer in a binary format (see dispatcher.json.plugin-formats)
+        ObjectMapper objectMapper = dataFormats.mapperFor(response);
+        try {
+            JsonParser parser = objectMapper.getFactory().createParser(response.body().asInputStream());
+            Runnable close = () -> {
+                try {
+                    parser.close();
+                } catch (IOException ignored) {
+                    // connection is released below either way
+                } finally {
+                    response.close();
+                }
+            };
+            if (!seekArray(parser, arrayField)) {
+                close.run();
+                return Stream.empty();
+            }
+            ObjectReader reader = objectMapper.readerFor(type);
+            if (!RawJsonSupport.includeRaw()) {
+                // Raw payloads are skipped in the parser instead of being decoded and dropped on output
+                reader = reader.withAttribute(RawJsonSupport.INCLUDE_RAW_ATTRIBUTE, Boolean.FALSE);
+            }
+            Iterator<T> elements = new ElementIterator<>(parser, reader);
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(close);
+        } catch (IOException e) {
+            response.close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Turns an error status into the same FeignException a decoded call would have thrown.
+     */
+    static void ensureSuccess(Response response) {
+        if (response.status() >= 400) {
+            FeignException error = FeignException.errorStatus(response.request().url(), response);
+            response.close();
+            throw error;
+        }
+    }
+
+    /**
+     * Advances the parser to the start of the entity array; {@code false} if there is none.
+     */
+    static boolean seekArray(JsonParser parser, String arrayField) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (arrayField == null) {
+            return token == JsonToken.START_ARRAY;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (arrayField.equals(name) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private class ElementIterator<T> implements Iterator<T> {
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private T next;
+        private boolean done;
+
+        ElementIterator(JsonParser parser, ObjectReader reader) {
+            this.parser = parser;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (done) {
+                return false;
+            }
+            try {
+                JsonToken token = parser.nextToken();
+                while (token == JsonToken.VALUE_NULL) {
+                    token = parser.nextToken();
+                }
+                if (token == JsonToken.START_OBJECT) {
+                    next = reader.readValue(parser);
+                } else {
+                    done = true;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T current = next;
+            next = null;
+            return current;
+        }
+    }
+}
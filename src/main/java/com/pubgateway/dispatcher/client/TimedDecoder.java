@@ -0,0 +1,36 @@
+package com.pubgateway.dispatcher.client;
+
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import feign.FeignException;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.codec.Decoder;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Times body decoding of plugin responses. The body is streamed from the socket while Jackson
+ * parses it, so this covers reading the payload as well as binding it.
+ */
+@RequiredArgsConstructor
+public class TimedDecoder implements Decoder {
+
+    private final Decoder delegate;
+    private final DispatcherMetrics metrics;
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        long start = System.nanoTime();
+        try {
+            return delegate.decode(response, type);
+        } finally {
+            RequestTemplate template = response.request() != null ? response.request().requestTemplate() : null;
+            String plugin = template != null && template.feignTarget() != null ? template.feignTarget().name() : "unknown";
+            String operation = template != null && template.methodMetadata() != null
+                    ? template.methodMetadata().method().getName() : "unknown";
+            metrics.recordDecode(plugin, operation, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.pubgateway.dispatcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "dispatcher.accounts")
+public class AccountHierarchyProperties {
+
+    /**
+     * How often the Google manager-to-client hierarchy is reloaded from the plugin (ISO-8601, e.g. PT10M)
+     */
+    private Duration refreshInterval = Duration.ofMinutes(10);
+
+    /**
+     * Google manager (MCC) accounts loaded at startup; other accounts are added the first time they are requested
+     */
+    private List<String> rootManagers = new ArrayList<>();
+}
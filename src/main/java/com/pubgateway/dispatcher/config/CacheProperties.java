@@ -0,0 +1,52 @@
+package com.pubgateway.dispatcher.config;
+
+import com.pubgateway.dispatcher.enumeration.EntityType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "dispatcher.cache")
+public class CacheProperties {
+
+    /**
+     * Master switch for the read-through entity cache
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long the id to owning customer mapping behind single-entity lookups is kept after its last use;
+     * entities themselves expire with the ttl of their type
+     */
+    private Duration ownerTtl = Duration.ofHours(24);
+
+    /**
+     * Settings used for entity types that have no explicit entry under {@code entities}
+     */
+    private Entity defaults = new Entity();
+
+    /**
+     * Per-entity overrides (campaigns, groups, ads, keywords)
+     */
+    private Map<EntityType, Entity> entities = new EnumMap<>(EntityType.class);
+
+    public Entity forType(EntityType type) {
+        return entities.getOrDefault(type, defaults);
+    }
+
+    @Data
+    public static class Entity {
+        /**
+         * How long a cached list stays valid after it was fetched from the plugin
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * Upper bound on the number of entities (summed over all cached lists) kept for this type
+         */
+        private long maxEntities = 100_000;
+    }
+}
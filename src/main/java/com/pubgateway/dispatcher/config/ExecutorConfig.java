@@ -0,0 +1,44 @@
+package com.pubgateway.dispatcher.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor used to issue plugin calls concurrently (cross-publisher fan-out, tree expansion, batches).
+ * Follows {@code spring.threads.virtual.enabled}, the same switch that moves Tomcat request
+ * handling onto virtual threads: with it on, every plugin call gets its own virtual thread;
+ * with it off, a fixed pool of platform threads is used.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService publisherExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("publisher-call-", 0).factory());
+    }
+
+    /**
+     * The work is almost entirely blocking I/O, so the pool is sized by the number of
+     * in-flight upstream calls we are willing to hold rather than by CPU count.
+     */
+    @Bean(name = "publisherExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService platformPublisherExecutor(@Value("${dispatcher.executor.threads:64}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "publisher-call-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+}
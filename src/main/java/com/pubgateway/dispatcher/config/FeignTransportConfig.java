@@ -0,0 +1,75 @@
+package com.pubgateway.dispatcher.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.client.HedgingClient;
+import com.pubgateway.dispatcher.client.TimedDecoder;
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import feign.Client;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import feign.form.spring.SpringFormEncoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
+import org.springframework.cloud.openfeign.support.FeignEncoderProperties;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.List;
+
+@Configuration
+public class FeignTransportConfig {
+
+    /**
+     * Replaces Spring Cloud's default Feign client: instances are still chosen by the
+     * load balancer, but the request itself goes through hedging and the per-plugin connection pools.
+     * Primary because the transport layers below it are {@link Client} beans as well.
+     */
+    @Bean
+    @Primary
+    public Client feignClient(HedgingClient hedgingClient,
+                              LoadBalancerClient loadBalancerClient,
+                              LoadBalancerClientFactory loadBalancerClientFactory,
+                              ObjectProvider<LoadBalancerFeignRequestTransformer> transformers) {
+        return new FeignBlockingLoadBalancerClient(hedgingClient, loadBalancerClient,
+                loadBalancerClientFactory, transformers.orderedStream().toList());
+    }
+
+    /**
+     * Spring Cloud's default decoder chain, timed. Defined here so every Feign client context picks it up.
+     */
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers,
+                                DispatcherMetrics metrics) {
+        return new TimedDecoder(new OptionalDecoder(new ResponseEntityDecoder(
+                new SpringDecoder(messageConverters, customizers))), metrics);
+    }
+
+    /**
+     * Spring Cloud's default encoder, but with plain converters instead of the application's: request bodies
+     * are not dispatcher responses, so {@code raw-mode}, {@code ?includeRaw} and {@code ?fields=} must not
+     * reach them.
+     */
+    @Bean
+    public Encoder feignEncoder(ObjectMapper objectMapper,
+                                ObjectProvider<FeignEncoderProperties> encoderProperties,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+        HttpMessageConverters converters = new HttpMessageConverters(false, List.of(
+                new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter(objectMapper)));
+        return new SpringEncoder(new SpringFormEncoder(), () -> converters, encoderProperties.getIfAvailable(),
+                customizers);
+    }
+}
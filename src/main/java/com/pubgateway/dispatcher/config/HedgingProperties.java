@@ -0,0 +1,51 @@
+package com.pubgateway.dispatcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "dispatcher.hedging")
+public class HedgingProperties {
+
+    /**
+     * Send a second copy of slow GET requests to another plugin instance
+     */
+    private boolean enabled = true;
+
+    /**
+     * Latency percentile of recent primary requests after which a hedge is sent
+     */
+    private double percentile = 0.95;
+
+    /**
+     * Hedge delay used until enough latency samples have been collected
+     */
+    private Duration initialDelay = Duration.ofMillis(500);
+
+    /**
+     * Lower bound for the adaptive hedge delay
+     */
+    private Duration minDelay = Duration.ofMillis(20);
+
+    /**
+     * Upper bound for the adaptive hedge delay
+     */
+    private Duration maxDelay = Duration.ofSeconds(2);
+
+    /**
+     * Samples needed in the latency window before the adaptive delay is used
+     */
+    private long minSamples = 100;
+
+    /**
+     * Fraction of requests that may be hedged, per plugin
+     */
+    private double budgetRatio = 0.05;
+
+    /**
+     * Hedges that may be sent back to back when budget has accumulated
+     */
+    private int budgetBurst = 10;
+}
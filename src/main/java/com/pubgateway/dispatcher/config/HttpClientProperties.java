@@ -0,0 +1,60 @@
+package com.pubgateway.dispatcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "dispatcher.http-client")
+public class HttpClientProperties {
+
+    /**
+     * Pool settings for plugins without an explicit entry under {@code plugins}
+     */
+    private Pool defaults = new Pool();
+
+    /**
+     * Per-plugin pool settings, keyed by Feign client name (e.g. google-pubgateway-plugin)
+     */
+    private Map<String, Pool> plugins = new HashMap<>();
+
+    public Pool forPlugin(String name) {
+        return plugins.getOrDefault(name, defaults);
+    }
+
+    @Data
+    public static class Pool {
+        /**
+         * Maximum pooled connections to all instances of the plugin
+         */
+        private int maxConnections = 200;
+
+        /**
+         * Maximum pooled connections to a single plugin instance
+         */
+        private int maxConnectionsPerRoute = 50;
+
+        /**
+         * Close connections that have been idle for longer than this
+         */
+        private Duration idleEviction = Duration.ofSeconds(30);
+
+        /**
+         * Keep-alive applied to reusable connections
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+
+        /**
+         * Hard upper bound on a connection's lifetime, so instance changes in Eureka are picked up
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        /**
+         * Re-validate a pooled connection before reuse when it has been idle this long
+         */
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    }
+}
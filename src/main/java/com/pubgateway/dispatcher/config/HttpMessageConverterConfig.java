@@ -0,0 +1,46 @@
+package com.pubgateway.dispatcher.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.enumeration.ContentFormat;
+import com.pubgateway.dispatcher.json.DataFormats;
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import com.pubgateway.dispatcher.web.TimedCborHttpMessageConverter;
+import com.pubgateway.dispatcher.web.TimedJacksonHttpMessageConverter;
+import com.pubgateway.dispatcher.web.TimedSmileHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class HttpMessageConverterConfig {
+
+    /**
+     * Replaces Boot's default JSON converter (which backs off when one is defined).
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   DispatcherMetrics metrics) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, metrics);
+    }
+
+    /**
+     * Replaces the default Smile converter in place, after JSON, so clients accepting any type still get JSON.
+     * Also used by the Feign decoders for plugins answering in Smile.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(DataFormats dataFormats,
+                                                                              DispatcherMetrics metrics) {
+        return new TimedSmileHttpMessageConverter(dataFormats.mapper(ContentFormat.SMILE), metrics);
+    }
+
+    /**
+     * Replaces the default CBOR converter in place, see {@link #smileHttpMessageConverter}.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(DataFormats dataFormats,
+                                                                            DispatcherMetrics metrics) {
+        return new TimedCborHttpMessageConverter(dataFormats.mapper(ContentFormat.CBOR), metrics);
+    }
+}
@@ -0,0 +1,33 @@
+package com.pubgateway.dispatcher.config;
+
+import com.fasterxml.jackson.databind.introspect.AnnotationIntrospectorPair;
+import com.pubgateway.dispatcher.json.RawJsonModule;
+import com.pubgateway.dispatcher.json.SparseFields;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Picked up by Boot's ObjectMapper, which is shared by the MVC converters and the Feign decoders.
+     */
+    @Bean
+    public RawJsonModule rawJsonModule(JsonProperties properties) {
+        return new RawJsonModule(properties.getRawMode());
+    }
+
+    /**
+     * Gives {@code @SparseFieldset} entities their {@code ?fields=} filter, together with the default filter
+     * provider that writes every property when no selection applies. Registered once, on the mapper Boot
+     * builds; mappers created elsewhere ignore the marker and write full entities.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> builder
+                .filters(SparseFields.ALL_FIELDS)
+                .postConfigurer(objectMapper -> objectMapper.setAnnotationIntrospector(AnnotationIntrospectorPair.pair(
+                        objectMapper.getSerializationConfig().getAnnotationIntrospector(), SparseFields.INTROSPECTOR)));
+    }
+}
@@ -0,0 +1,29 @@
+package com.pubgateway.dispatcher.config;
+
+import com.pubgateway.dispatcher.enumeration.ContentFormat;
+import com.pubgateway.dispatcher.json.RawJsonModule;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "dispatcher.json")
+public class JsonProperties {
+
+    /**
+     * How raw plugin payloads (Ads.raw, Keyword.raw) are written: STRING (escaped JSON string) or EMBEDDED (verbatim JSON)
+     */
+    private RawJsonModule.Mode rawMode = RawJsonModule.Mode.STRING;
+
+    /**
+     * Response format requested from each plugin, keyed by Feign client name; JSON when absent.
+     * Plugins that do not support the format can still answer in JSON.
+     */
+    private Map<String, ContentFormat> pluginFormats = new HashMap<>();
+
+    public ContentFormat formatFor(String plugin) {
+        return pluginFormats.getOrDefault(plugin, ContentFormat.JSON);
+    }
+}
@@ -0,0 +1,9 @@
+package com.pubgateway.dispatcher.config;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = PluginLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
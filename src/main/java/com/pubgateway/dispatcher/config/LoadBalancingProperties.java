@@ -0,0 +1,31 @@
+package com.pubgateway.dispatcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "dispatcher.load-balancer")
+public class LoadBalancingProperties {
+
+    /**
+     * Pick plugin instances by power-of-two-choices on latency and in-flight requests; round robin when false
+     */
+    private boolean latencyAware = true;
+
+    /**
+     * Time constant of the latency EWMA; also how fast an idle instance's latency relaxes back to the initial value
+     */
+    private Duration decayWindow = Duration.ofSeconds(10);
+
+    /**
+     * Latency assumed for instances that have not answered yet
+     */
+    private Duration initialLatency = Duration.ofMillis(100);
+
+    /**
+     * Latency recorded for a failed call, so failing instances are avoided like slow ones
+     */
+    private Duration failurePenalty = Duration.ofSeconds(2);
+}
@@ -0,0 +1,37 @@
+package com.pubgateway.dispatcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "dispatcher.paging")
+public class PagingProperties {
+
+    /**
+     * Page size used when a client sends a pageToken without a pageSize
+     */
+    private int defaultPageSize = 500;
+
+    /**
+     * Largest page a client may request
+     */
+    private int maxPageSize = 5000;
+
+    /**
+     * How long a dispatcher-side snapshot stays walkable after its last page was read
+     */
+    private Duration snapshotTtl = Duration.ofMinutes(5);
+
+    /**
+     * Upper bound on the number of entities held across all snapshots
+     */
+    private long maxSnapshotEntities = 1_000_000;
+
+    /**
+     * Pass pageSize/pageToken to the Google plugin instead of paging a dispatcher-side snapshot.
+     * Only enable against plugin versions that return nextPageToken.
+     */
+    private boolean googleUpstream = false;
+}
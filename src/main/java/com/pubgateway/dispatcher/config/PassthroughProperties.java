@@ -0,0 +1,14 @@
+package com.pubgateway.dispatcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "dispatcher.passthrough")
+public class PassthroughProperties {
+
+    /**
+     * Stream unpaged Google list responses straight from the plugin, bypassing entity binding and the cache
+     */
+    private boolean enabled = false;
+}
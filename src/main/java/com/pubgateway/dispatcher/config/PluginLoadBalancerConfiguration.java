@@ -0,0 +1,34 @@
+package com.pubgateway.dispatcher.config;
+
+import com.pubgateway.dispatcher.loadbalancer.InstanceStats;
+import com.pubgateway.dispatcher.loadbalancer.LatencyAwareLoadBalancer;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-plugin load balancer configuration, instantiated in each plugin's load balancer child
+ * context. Deliberately not a {@code @Configuration}: component scanning must not pick it up
+ * into the main context.
+ */
+public class PluginLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> pluginLoadBalancer(Environment environment,
+                                                                   LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                   LoadBalancingProperties properties,
+                                                                   InstanceStats instanceStats) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        if (!properties.isLatencyAware()) {
+            return new RoundRobinLoadBalancer(
+                    loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId);
+        }
+        return new LatencyAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, instanceStats);
+    }
+}
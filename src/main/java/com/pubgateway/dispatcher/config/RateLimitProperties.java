@@ -0,0 +1,92 @@
+package com.pubgateway.dispatcher.config;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "dispatcher.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Master switch for the per-publisher and per-customer request rate limits
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long an over-limit call queues for a token before it is rejected with 429
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    /**
+     * Factor the rate is multiplied by when the plugin reports throttling (429 / RESOURCE_EXHAUSTED)
+     */
+    private double decreaseFactor = 0.5;
+
+    /**
+     * Lowest rate throttling can push a limit to, as a fraction of its configured rate
+     */
+    private double minRateRatio = 0.05;
+
+    /**
+     * Time a limit takes to climb back from zero to its configured rate once throttling stops
+     */
+    private Duration recoveryPeriod = Duration.ofSeconds(60);
+
+    /**
+     * Minimum time between two throttling decreases of a publisher-wide limit, so a burst of 429s
+     * from one customer halves the shared rate once rather than collapsing it
+     */
+    private Duration publisherAdjustInterval = Duration.ofSeconds(1);
+
+    /**
+     * Customer limits unused for this long are dropped
+     */
+    private Duration customerIdle = Duration.ofMinutes(10);
+
+    /**
+     * Upper bound on the number of customer limits kept in memory
+     */
+    private long maxCustomers = 100_000;
+
+    /**
+     * Limits used for publishers that have no explicit entry under {@code publishers}
+     */
+    private Limit defaults = new Limit();
+
+    /**
+     * Per publisher overrides (google, meta)
+     */
+    private Map<Publisher, Limit> publishers = new EnumMap<>(Publisher.class);
+
+    public Limit forPublisher(Publisher publisher) {
+        return publishers.getOrDefault(publisher, defaults);
+    }
+
+    @Data
+    public static class Limit {
+        /**
+         * Calls per second to the plugin across all customers
+         */
+        private double rate = 200;
+
+        /**
+         * Calls that may be sent back to back when the publisher limit has been idle
+         */
+        private int burst = 400;
+
+        /**
+         * Calls per second to the plugin for a single customer
+         */
+        private double customerRate = 20;
+
+        /**
+         * Calls that may be sent back to back for a single customer
+         */
+        private int customerBurst = 40;
+    }
+}
@@ -0,0 +1,81 @@
+package com.pubgateway.dispatcher.config;
+
+import com.pubgateway.dispatcher.enumeration.OperationType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "dispatcher.resilience")
+public class ResilienceProperties {
+
+    /**
+     * Master switch for the per-plugin circuit breakers and bulkheads
+     */
+    private boolean enabled = true;
+
+    /**
+     * Settings used for operation types that have no explicit entry under {@code operations}
+     */
+    private Policy defaults = new Policy();
+
+    /**
+     * Per operation type overrides (read, write); every publisher gets its own instance of each
+     */
+    private Map<OperationType, Policy> operations = new EnumMap<>(OperationType.class);
+
+    public Policy forType(OperationType type) {
+        return operations.getOrDefault(type, defaults);
+    }
+
+    @Data
+    public static class Policy {
+        /**
+         * Failure percentage (5xx, timeouts, connection errors) that opens the circuit
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Calls slower than this count as slow
+         */
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+
+        /**
+         * Slow call percentage that opens the circuit
+         */
+        private float slowCallRateThreshold = 80;
+
+        /**
+         * Number of most recent calls the failure rate is computed over
+         */
+        private int slidingWindowSize = 50;
+
+        /**
+         * Calls required in the window before the failure rate is evaluated
+         */
+        private int minimumNumberOfCalls = 20;
+
+        /**
+         * How long the circuit stays open before probe calls are let through
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        /**
+         * Probe calls allowed while half-open
+         */
+        private int permittedCallsInHalfOpenState = 5;
+
+        /**
+         * Maximum concurrent calls to the plugin
+         */
+        private int maxConcurrentCalls = 64;
+
+        /**
+         * How long a call waits for a free bulkhead slot before being rejected
+         */
+        private Duration maxWait = Duration.ZERO;
+    }
+}
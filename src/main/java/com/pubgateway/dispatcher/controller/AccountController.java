@@ -2,6 +2,8 @@ package com.pubgateway.dispatcher.controller;
 
 import com.pubgateway.dispatcher.enumeration.Publisher;
 import com.pubgateway.dispatcher.model.Account;
+import com.pubgateway.dispatcher.model.response.AccountTreeResponse;
+import com.pubgateway.dispatcher.service.AccountTreeService;
 import com.pubgateway.dispatcher.service.PublisherService;
 import com.pubgateway.dispatcher.service.PublisherServiceFactory;
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,6 +24,7 @@ import java.util.List;
 public class AccountController {
 
     private final PublisherServiceFactory serviceFactory;
+    private final AccountTreeService accountTreeService;
 
     @GetMapping("/{id}")
     @Operation(
@@ -42,9 +45,96 @@ public class AccountController {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
             PublisherService service = serviceFactory.getService(pub);
             List<Account> accounts = service.getAccount(id);
+            return accounts != null && !accounts.isEmpty() ? ResponseEntity.ok(accounts) : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}/sub-accounts")
+    @Operation(
+        summary = "Get sub-accounts",
+        description = "Direct client accounts of a manager account, from the cached manager hierarchy (Google only)",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Sub-accounts retrieved (empty for client accounts)"),
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or account ID specified"),
+            @ApiResponse(responseCode = "501", description = "Operation not supported by this publisher")
+        }
+    )
+    public ResponseEntity<List<Account>> getSubAccounts(
+            @Parameter(description = "Publisher platform (google only)", example = "google")
+            @PathVariable String publisher,
+            @Parameter(description = "Manager account ID", example = "1234567890")
+            @PathVariable String id) {
+        try {
+            Publisher pub = Publisher.valueOf(publisher.toUpperCase());
+            PublisherService service = serviceFactory.getService(pub);
+            List<Account> accounts = service.getSubAccounts(id);
+            return accounts != null ? ResponseEntity.ok(accounts) : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
+    @GetMapping("/{id}/subtree")
+    @Operation(
+        summary = "Get manager subtree",
+        description = "Every account below a manager account, breadth first, with level relative to it. "
+                + "Served from the cached manager hierarchy (Google only).",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Subtree retrieved (empty for client accounts)"),
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or account ID specified"),
+            @ApiResponse(responseCode = "501", description = "Operation not supported by this publisher")
+        }
+    )
+    public ResponseEntity<List<Account>> getAccountSubtree(
+            @Parameter(description = "Publisher platform (google only)", example = "google")
+            @PathVariable String publisher,
+            @Parameter(description = "Manager account ID", example = "1234567890")
+            @PathVariable String id,
+            @Parameter(description = "Deepest level to include; all levels when omitted", example = "2")
+            @RequestParam(required = false) Integer maxDepth) {
+        try {
+            Publisher pub = Publisher.valueOf(publisher.toUpperCase());
+            PublisherService service = serviceFactory.getService(pub);
+            List<Account> accounts = service.getAccountSubtree(id, maxDepth);
             return accounts != null ? ResponseEntity.ok(accounts) : ResponseEntity.notFound().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
+    @GetMapping("/{id}/tree")
+    @Operation(
+        summary = "Get account hierarchy",
+        description = "Expand account -> campaigns -> ad groups -> ads -> keywords in one request. "
+                + "Depth: 0 = account, 1 = campaigns, 2 = ad groups, 3 = ads, 4 = keywords. "
+                + "Each level is fetched with one customer-wide plugin call, all levels concurrently.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Tree assembled (see complete/errors for partial results)"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or depth specified")
+        }
+    )
+    public ResponseEntity<AccountTreeResponse> getAccountTree(
+            @Parameter(description = "Publisher platform (google, meta)", example = "google")
+            @PathVariable String publisher,
+            @Parameter(description = "Account ID", example = "1234567890")
+            @PathVariable String id,
+            @Parameter(description = "How many levels below the account to expand (0-4)", example = "2")
+            @RequestParam(defaultValue = "4") int depth,
+            @Parameter(description = "Maximum concurrent plugin calls for this request", example = "8")
+            @RequestParam(defaultValue = "8") int concurrency) {
+        try {
+            Publisher pub = Publisher.valueOf(publisher.toUpperCase());
+            return ResponseEntity.ok(accountTreeService.expand(pub, id, depth, concurrency));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
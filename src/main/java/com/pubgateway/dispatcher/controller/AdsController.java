@@ -2,12 +2,19 @@ package com.pubgateway.dispatcher.controller;
 
 import com.pubgateway.dispatcher.enumeration.Publisher;
 import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.service.CustomerFanOutService;
+import com.pubgateway.dispatcher.service.GooglePassthroughService;
 import com.pubgateway.dispatcher.service.PublisherService;
 import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import com.pubgateway.dispatcher.web.ConditionalResponses;
+import com.pubgateway.dispatcher.web.PageResponses;
+import com.pubgateway.dispatcher.web.NdjsonResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,27 +24,75 @@ import java.util.List;
 public class AdsController {
 
     private final PublisherServiceFactory serviceFactory;
+    private final NdjsonResponses ndjsonResponses;
+    private final GooglePassthroughService passthroughService;
+    private final ConditionalResponses conditionalResponses;
+    private final CustomerFanOutService customerFanOutService;
 
     @GetMapping
-    public ResponseEntity<List<Ads>> getAds(
+    public ResponseEntity<?> getAds(
             @PathVariable String publisher,
             @RequestParam(required = true) String accountId,
-            @RequestParam(required = false) String groupId) {
+            @RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String textContains,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String pageToken) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
             PublisherService service = serviceFactory.getService(pub);
-            List<Ads> ads = service.getAds(accountId, groupId);
-            return ResponseEntity.ok(ads);
+            if (PageResponses.isPaged(pageSize, pageToken)) {
+                return PageResponses.of(service.getAdsPage(accountId, groupId, status, textContains, pageSize, pageToken));
+            }
+            if (passthroughService.supports(pub)) {
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body(passthroughService.getAds(accountId, groupId, status, textContains));
+            }
+            List<Ads> ads = service.getAds(accountId, groupId, status, textContains);
+            return conditionalResponses.of(ads);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAds(
+            @PathVariable String publisher,
+            @RequestParam(required = true) String accountId,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String textContains) {
+        try {
+            Publisher pub = Publisher.valueOf(publisher.toUpperCase());
+            PublisherService service = serviceFactory.getService(pub);
+            return ndjsonResponses.of(service.streamAds(accountId, groupId, status, textContains));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/fan-out", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> fanOutAds(
+            @PathVariable String publisher,
+            @RequestParam(required = false) List<String> customerIds,
+            @RequestParam(required = false) String managerId,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String textContains) {
+        try {
+            Publisher pub = Publisher.valueOf(publisher.toUpperCase());
+            return ndjsonResponses.of(customerFanOutService.fanOut(pub, customerIds, managerId,
+                    (service, customerId) -> service.getAds(customerId, groupId, status, textContains)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Ads> getAd(
             @PathVariable String publisher,
-            @PathVariable String accountId,
-            @PathVariable String groupId,
             @PathVariable String id) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
@@ -52,8 +107,6 @@ public class AdsController {
     @PostMapping
     public ResponseEntity<Ads> createAd(
             @PathVariable String publisher,
-            @PathVariable String accountId,
-            @PathVariable String groupId,
             @RequestBody Ads ads) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
@@ -68,8 +121,6 @@ public class AdsController {
     @PutMapping("/{id}")
     public ResponseEntity<Ads> updateAd(
             @PathVariable String publisher,
-            @PathVariable String accountId,
-            @PathVariable String groupId,
             @PathVariable String id,
             @RequestBody Ads ads) {
         try {
@@ -85,8 +136,6 @@ public class AdsController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAd(
             @PathVariable String publisher,
-            @PathVariable String accountId,
-            @PathVariable String groupId,
             @PathVariable String id) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
@@ -0,0 +1,125 @@
+package com.pubgateway.dispatcher.controller;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.model.Group;
+import com.pubgateway.dispatcher.model.response.AggregateResponse;
+import com.pubgateway.dispatcher.service.FanOutService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Tag(name = "Aggregate", description = "Cross-publisher list operations")
+public class AggregateController {
+
+    private final FanOutService fanOutService;
+
+    @GetMapping("/campaigns")
+    @Operation(
+        summary = "Get campaigns from all publishers",
+        description = "Queries every publisher concurrently and merges the results. Per-publisher failures and latencies are reported in the response.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Campaigns retrieved (possibly partial, see publishers)"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher specified")
+        }
+    )
+    public ResponseEntity<AggregateResponse<Campaign>> getCampaigns(
+            @Parameter(description = "Account ID passed to every publisher", example = "1234567890")
+            @RequestParam String accountId,
+            @Parameter(description = "Campaign status filter (ENABLED, PAUSED, REMOVED)", example = "ENABLED")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Filter campaigns where name contains this string")
+            @RequestParam(required = false) String nameContains,
+            @Parameter(description = "Filter by channel type (SEARCH, DISPLAY, VIDEO, etc.)")
+            @RequestParam(required = false) String channelType,
+            @Parameter(description = "Filter campaigns starting from this date (YYYY-MM-DD)")
+            @RequestParam(required = false) String startDateFrom,
+            @Parameter(description = "Filter campaigns starting before this date (YYYY-MM-DD)")
+            @RequestParam(required = false) String startDateTo,
+            @Parameter(description = "Restrict to these publishers (default: all)", example = "google,meta")
+            @RequestParam(required = false) List<String> publishers) {
+        try {
+            return ResponseEntity.ok(fanOutService.fanOut(resolve(publishers),
+                    service -> service.getCampaigns(accountId, status, nameContains, channelType, startDateFrom, startDateTo)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/groups")
+    @Operation(
+        summary = "Get ad groups from all publishers",
+        description = "Queries every publisher concurrently and merges the results. Per-publisher failures and latencies are reported in the response.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Ad groups retrieved (possibly partial, see publishers)"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher specified")
+        }
+    )
+    public ResponseEntity<AggregateResponse<Group>> getGroups(
+            @Parameter(description = "Account ID passed to every publisher", example = "1234567890")
+            @RequestParam String accountId,
+            @Parameter(description = "Filter by campaign ID")
+            @RequestParam(required = false) String campaignId,
+            @Parameter(description = "Ad group status filter (ENABLED, PAUSED, REMOVED)")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Filter ad groups where name contains this string")
+            @RequestParam(required = false) String nameContains,
+            @Parameter(description = "Restrict to these publishers (default: all)", example = "google,meta")
+            @RequestParam(required = false) List<String> publishers) {
+        try {
+            return ResponseEntity.ok(fanOutService.fanOut(resolve(publishers),
+                    service -> service.getGroups(accountId, campaignId, status, nameContains)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/ads")
+    @Operation(
+        summary = "Get ads from all publishers",
+        description = "Queries every publisher concurrently and merges the results. Per-publisher failures and latencies are reported in the response.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Ads retrieved (possibly partial, see publishers)"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher specified")
+        }
+    )
+    public ResponseEntity<AggregateResponse<Ads>> getAds(
+            @Parameter(description = "Account ID passed to every publisher", example = "1234567890")
+            @RequestParam String accountId,
+            @Parameter(description = "Filter by ad group ID")
+            @RequestParam(required = false) String groupId,
+            @Parameter(description = "Ad status filter (ENABLED, PAUSED, REMOVED)")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Filter ads where text fields contain this string")
+            @RequestParam(required = false) String textContains,
+            @Parameter(description = "Restrict to these publishers (default: all)", example = "google,meta")
+            @RequestParam(required = false) List<String> publishers) {
+        try {
+            return ResponseEntity.ok(fanOutService.fanOut(resolve(publishers),
+                    service -> service.getAds(accountId, groupId, status, textContains)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static List<Publisher> resolve(List<String> publishers) {
+        if (publishers == null || publishers.isEmpty()) {
+            return Arrays.asList(Publisher.values());
+        }
+        return publishers.stream()
+                .map(publisher -> Publisher.valueOf(publisher.trim().toUpperCase()))
+                .distinct()
+                .toList();
+    }
+}
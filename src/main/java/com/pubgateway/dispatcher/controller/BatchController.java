@@ -0,0 +1,165 @@
+package com.pubgateway.dispatcher.controller;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.model.Group;
+import com.pubgateway.dispatcher.model.response.BatchResponse;
+import com.pubgateway.dispatcher.service.BatchMutationService;
+import com.pubgateway.dispatcher.service.PublisherService;
+import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/api/v1/publishers/{publisher}")
+@RequiredArgsConstructor
+@Tag(name = "Batch", description = "Bulk create/update/delete of campaigns, ad groups and ads. "
+        + "Items are sent to the plugin with bounded parallelism; every item gets its own status and error.")
+public class BatchController {
+
+    private final PublisherServiceFactory serviceFactory;
+    private final BatchMutationService batchService;
+
+    // Campaigns
+
+    @PostMapping("/campaigns:batchCreate")
+    @Operation(summary = "Create campaigns in bulk", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or batch")
+    })
+    public ResponseEntity<BatchResponse<Campaign>> batchCreateCampaigns(
+            @Parameter(description = "Publisher platform", example = "meta") @PathVariable String publisher,
+            @RequestBody List<Campaign> campaigns) {
+        return run(publisher, service -> batchService.execute(campaigns, service::createCampaign, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/campaigns:batchUpdate")
+    @Operation(summary = "Update campaigns in bulk (each item must carry its id)", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or batch")
+    })
+    public ResponseEntity<BatchResponse<Campaign>> batchUpdateCampaigns(
+            @Parameter(description = "Publisher platform", example = "meta") @PathVariable String publisher,
+            @RequestBody List<Campaign> campaigns) {
+        return run(publisher, service -> batchService.execute(campaigns,
+                campaign -> service.updateCampaign(requireId(campaign.getId()), campaign), HttpStatus.OK));
+    }
+
+    @PostMapping("/campaigns:batchDelete")
+    @Operation(summary = "Delete campaigns in bulk", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or batch")
+    })
+    public ResponseEntity<BatchResponse<Void>> batchDeleteCampaigns(
+            @Parameter(description = "Publisher platform", example = "meta") @PathVariable String publisher,
+            @RequestBody List<String> ids) {
+        return run(publisher, service -> batchService.execute(ids, id -> {
+            service.deleteCampaign(requireId(id));
+            return null;
+        }, HttpStatus.NO_CONTENT));
+    }
+
+    // Ad groups
+
+    @PostMapping("/groups:batchCreate")
+    @Operation(summary = "Create ad groups in bulk", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or batch")
+    })
+    public ResponseEntity<BatchResponse<Group>> batchCreateGroups(
+            @Parameter(description = "Publisher platform", example = "meta") @PathVariable String publisher,
+            @RequestBody List<Group> groups) {
+        return run(publisher, service -> batchService.execute(groups, service::createGroup, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/groups:batchUpdate")
+    @Operation(summary = "Update ad groups in bulk (each item must carry its id)", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or batch")
+    })
+    public ResponseEntity<BatchResponse<Group>> batchUpdateGroups(
+            @Parameter(description = "Publisher platform", example = "meta") @PathVariable String publisher,
+            @RequestBody List<Group> groups) {
+        return run(publisher, service -> batchService.execute(groups,
+                group -> service.updateGroup(requireId(group.getId()), group), HttpStatus.OK));
+    }
+
+    @PostMapping("/groups:batchDelete")
+    @Operation(summary = "Delete ad groups in bulk", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or batch")
+    })
+    public ResponseEntity<BatchResponse<Void>> batchDeleteGroups(
+            @Parameter(description = "Publisher platform", example = "meta") @PathVariable String publisher,
+            @RequestBody List<String> ids) {
+        return run(publisher, service -> batchService.execute(ids, id -> {
+            service.deleteGroup(requireId(id));
+            return null;
+        }, HttpStatus.NO_CONTENT));
+    }
+
+    // Ads
+
+    @PostMapping("/ads:batchCreate")
+    @Operation(summary = "Create ads in bulk", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or batch")
+    })
+    public ResponseEntity<BatchResponse<Ads>> batchCreateAds(
+            @Parameter(description = "Publisher platform", example = "meta") @PathVariable String publisher,
+            @RequestBody List<Ads> ads) {
+        return run(publisher, service -> batchService.execute(ads, service::createAd, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/ads:batchUpdate")
+    @Operation(summary = "Update ads in bulk (each item must carry its id)", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or batch")
+    })
+    public ResponseEntity<BatchResponse<Ads>> batchUpdateAds(
+            @Parameter(description = "Publisher platform", example = "meta") @PathVariable String publisher,
+            @RequestBody List<Ads> ads) {
+        return run(publisher, service -> batchService.execute(ads,
+                ad -> service.updateAd(requireId(ad.getId()), ad), HttpStatus.OK));
+    }
+
+    @PostMapping("/ads:batchDelete")
+    @Operation(summary = "Delete ads in bulk", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or batch")
+    })
+    public ResponseEntity<BatchResponse<Void>> batchDeleteAds(
+            @Parameter(description = "Publisher platform", example = "meta") @PathVariable String publisher,
+            @RequestBody List<String> ids) {
+        return run(publisher, service -> batchService.execute(ids, id -> {
+            service.deleteAd(requireId(id));
+            return null;
+        }, HttpStatus.NO_CONTENT));
+    }
+
+    private <T> ResponseEntity<BatchResponse<T>> run(String publisher, Function<PublisherService, BatchResponse<T>> batch) {
+        try {
+            Publisher pub = Publisher.valueOf(publisher.toUpperCase());
+            return ResponseEntity.ok(batch.apply(serviceFactory.getService(pub)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static String requireId(Object id) {
+        if (id == null || id.toString().isEmpty()) {
+            throw new IllegalArgumentException("Item has no id");
+        }
+        return id.toString();
+    }
+}
@@ -2,12 +2,19 @@ package com.pubgateway.dispatcher.controller;
 
 import com.pubgateway.dispatcher.enumeration.Publisher;
 import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.service.CustomerFanOutService;
+import com.pubgateway.dispatcher.service.GooglePassthroughService;
 import com.pubgateway.dispatcher.service.PublisherService;
 import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import com.pubgateway.dispatcher.web.ConditionalResponses;
+import com.pubgateway.dispatcher.web.NdjsonResponses;
+import com.pubgateway.dispatcher.web.PageResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,21 +24,61 @@ import java.util.List;
 public class CampaignController {
 
     private final PublisherServiceFactory serviceFactory;
+    private final NdjsonResponses ndjsonResponses;
+    private final GooglePassthroughService passthroughService;
+    private final ConditionalResponses conditionalResponses;
+    private final CustomerFanOutService customerFanOutService;
 
     @GetMapping
-    public ResponseEntity<List<Campaign>> getCampaigns(
+    public ResponseEntity<?> getCampaigns(
             @PathVariable String publisher,
-            @RequestParam(required = false) String accountId) {
+            @RequestParam(required = false) String accountId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String nameContains,
+            @RequestParam(required = false) String channelType,
+            @RequestParam(required = false) String startDateFrom,
+            @RequestParam(required = false) String startDateTo,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String pageToken) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
             PublisherService service = serviceFactory.getService(pub);
-            List<Campaign> campaigns = service.getCampaigns(accountId);
-            return ResponseEntity.ok(campaigns);
+            if (PageResponses.isPaged(pageSize, pageToken)) {
+                return PageResponses.of(service.getCampaignsPage(
+                        accountId, status, nameContains, channelType, startDateFrom, startDateTo, pageSize, pageToken));
+            }
+            if (passthroughService.supports(pub)) {
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(passthroughService.getCampaigns(
+                        accountId, status, nameContains, channelType, startDateFrom, startDateTo));
+            }
+            List<Campaign> campaigns = service.getCampaigns(accountId, status, nameContains, channelType, startDateFrom, startDateTo);
+            return conditionalResponses.of(campaigns);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @GetMapping(value = "/fan-out", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> fanOutCampaigns(
+            @PathVariable String publisher,
+            @RequestParam(required = false) List<String> customerIds,
+            @RequestParam(required = false) String managerId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String nameContains,
+            @RequestParam(required = false) String channelType,
+            @RequestParam(required = false) String startDateFrom,
+            @RequestParam(required = false) String startDateTo) {
+        try {
+            Publisher pub = Publisher.valueOf(publisher.toUpperCase());
+            return ndjsonResponses.of(customerFanOutService.fanOut(pub, customerIds, managerId,
+                    (service, customerId) -> service.getCampaigns(customerId, status, nameContains, channelType, startDateFrom, startDateTo)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Campaign> getCampaign(
             @PathVariable String publisher,
@@ -2,12 +2,19 @@ package com.pubgateway.dispatcher.controller;
 
 import com.pubgateway.dispatcher.enumeration.Publisher;
 import com.pubgateway.dispatcher.model.Group;
+import com.pubgateway.dispatcher.service.CustomerFanOutService;
+import com.pubgateway.dispatcher.service.GooglePassthroughService;
 import com.pubgateway.dispatcher.service.PublisherService;
 import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import com.pubgateway.dispatcher.web.ConditionalResponses;
+import com.pubgateway.dispatcher.web.NdjsonResponses;
+import com.pubgateway.dispatcher.web.PageResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,26 +24,59 @@ import java.util.List;
 public class GroupController {
 
     private final PublisherServiceFactory serviceFactory;
+    private final NdjsonResponses ndjsonResponses;
+    private final GooglePassthroughService passthroughService;
+    private final ConditionalResponses conditionalResponses;
+    private final CustomerFanOutService customerFanOutService;
 
     @GetMapping
-    public ResponseEntity<List<Group>> getGroups(
+    public ResponseEntity<?> getGroups(
             @PathVariable String publisher,
             @RequestParam(required = true) String accountId,
-            @RequestParam(required = false) String campaignId) {
+            @RequestParam(required = false) String campaignId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String nameContains,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String pageToken) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
             PublisherService service = serviceFactory.getService(pub);
-            List<Group> groups = service.getGroups(accountId, campaignId);
-            return ResponseEntity.ok(groups);
+            if (PageResponses.isPaged(pageSize, pageToken)) {
+                return PageResponses.of(service.getGroupsPage(accountId, campaignId, status, nameContains, pageSize, pageToken));
+            }
+            if (passthroughService.supports(pub)) {
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body(passthroughService.getGroups(accountId, campaignId, status, nameContains));
+            }
+            List<Group> groups = service.getGroups(accountId, campaignId, status, nameContains);
+            return conditionalResponses.of(groups);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @GetMapping(value = "/fan-out", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> fanOutGroups(
+            @PathVariable String publisher,
+            @RequestParam(required = false) List<String> customerIds,
+            @RequestParam(required = false) String managerId,
+            @RequestParam(required = false) String campaignId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String nameContains) {
+        try {
+            Publisher pub = Publisher.valueOf(publisher.toUpperCase());
+            return ndjsonResponses.of(customerFanOutService.fanOut(pub, customerIds, managerId,
+                    (service, customerId) -> service.getGroups(customerId, campaignId, status, nameContains)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Group> getGroup(
             @PathVariable String publisher,
-            @PathVariable String accountId,
             @PathVariable String id) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
@@ -51,7 +91,6 @@ public class GroupController {
     @PostMapping
     public ResponseEntity<Group> createGroup(
             @PathVariable String publisher,
-            @PathVariable String accountId,
             @RequestBody Group group) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
@@ -66,7 +105,6 @@ public class GroupController {
     @PutMapping("/{id}")
     public ResponseEntity<Group> updateGroup(
             @PathVariable String publisher,
-            @PathVariable String accountId,
             @PathVariable String id,
             @RequestBody Group group) {
         try {
@@ -82,7 +120,6 @@ public class GroupController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteGroup(
             @PathVariable String publisher,
-            @PathVariable String accountId,
             @PathVariable String id) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
@@ -2,16 +2,27 @@ package com.pubgateway.dispatcher.controller;
 
 import com.pubgateway.dispatcher.enumeration.Publisher;
 import com.pubgateway.dispatcher.model.Keyword;
+import com.pubgateway.dispatcher.service.CustomerFanOutService;
+import com.pubgateway.dispatcher.service.GooglePassthroughService;
 import com.pubgateway.dispatcher.service.PublisherService;
 import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import com.pubgateway.dispatcher.web.ConditionalResponses;
+import com.pubgateway.dispatcher.web.PageResponses;
+import com.pubgateway.dispatcher.web.NdjsonResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,18 +33,30 @@ import java.util.List;
 public class KeywordController {
 
     private final PublisherServiceFactory serviceFactory;
+    private final NdjsonResponses ndjsonResponses;
+    private final GooglePassthroughService passthroughService;
+    private final ConditionalResponses conditionalResponses;
+    private final CustomerFanOutService customerFanOutService;
 
     @GetMapping
     @Operation(
         summary = "Get keywords",
         description = "Retrieve keywords (ad group criteria) for a Google Ads account with optional filtering",
+        parameters = {
+            @Parameter(in = ParameterIn.QUERY, name = "includeRaw", description = "Set to false to leave out the raw plugin payload of each keyword",
+                schema = @Schema(type = "boolean", defaultValue = "true")),
+            @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Comma-separated keyword properties to return; all when omitted",
+                example = "id,text,status")
+        },
         responses = {
-            @ApiResponse(responseCode = "200", description = "Keywords retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Keywords retrieved successfully",
+                content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Keyword.class)))),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Invalid publisher or parameters"),
             @ApiResponse(responseCode = "500", description = "Operation not supported by this publisher")
         }
     )
-    public ResponseEntity<List<Keyword>> getKeywords(
+    public ResponseEntity<?> getKeywords(
             @Parameter(description = "Publisher platform (google only)", example = "google")
             @PathVariable String publisher,
             @Parameter(description = "Google Ads customer ID (required)", example = "1234567890", required = true)
@@ -45,12 +68,108 @@ public class KeywordController {
             @Parameter(description = "Keyword match type (BROAD, PHRASE, EXACT)", example = "EXACT")
             @RequestParam(required = false) String matchType,
             @Parameter(description = "Filter keywords where text contains this string", example = "shoes")
-            @RequestParam(required = false) String textContains) {
+            @RequestParam(required = false) String textContains,
+            @Parameter(description = "Return at most this many keywords; the next page token is sent in the X-Next-Page-Token header", example = "1000")
+            @RequestParam(required = false) Integer pageSize,
+            @Parameter(description = "Value of X-Next-Page-Token from the previous page")
+            @RequestParam(required = false) String pageToken) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
             PublisherService service = serviceFactory.getService(pub);
+            if (PageResponses.isPaged(pageSize, pageToken)) {
+                return PageResponses.of(service.getKeywordsPage(
+                        customerId, adGroupId, status, matchType, textContains, pageSize, pageToken));
+            }
+            if (passthroughService.supports(pub)) {
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body(passthroughService.getKeywords(customerId, adGroupId, status, matchType, textContains));
+            }
             List<Keyword> keywords = service.getKeywords(customerId, adGroupId, status, matchType, textContains);
-            return ResponseEntity.ok(keywords);
+            return conditionalResponses.of(keywords);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Stream keywords",
+        description = "Same as Get keywords, but streams one keyword per line (application/x-ndjson) as they are decoded from the plugin response",
+        parameters = {
+            @Parameter(in = ParameterIn.QUERY, name = "includeRaw", description = "Set to false to leave out the raw plugin payload of each keyword",
+                schema = @Schema(type = "boolean", defaultValue = "true")),
+            @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Comma-separated keyword properties to return; all when omitted",
+                example = "id,text,status")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Keyword stream started"),
+            @ApiResponse(responseCode = "400", description = "Invalid publisher or parameters"),
+            @ApiResponse(responseCode = "501", description = "Operation not supported by this publisher")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> streamKeywords(
+            @Parameter(description = "Publisher platform (google only)", example = "google")
+            @PathVariable String publisher,
+            @Parameter(description = "Google Ads customer ID (required)", example = "1234567890", required = true)
+            @RequestParam(required = true) String customerId,
+            @Parameter(description = "Filter by ad group ID", example = "987654321")
+            @RequestParam(required = false) String adGroupId,
+            @Parameter(description = "Keyword status filter (ENABLED, PAUSED, REMOVED)", example = "ENABLED")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Keyword match type (BROAD, PHRASE, EXACT)", example = "EXACT")
+            @RequestParam(required = false) String matchType,
+            @Parameter(description = "Filter keywords where text contains this string", example = "shoes")
+            @RequestParam(required = false) String textContains) {
+        try {
+            Publisher pub = Publisher.valueOf(publisher.toUpperCase());
+            PublisherService service = serviceFactory.getService(pub);
+            return ndjsonResponses.of(service.streamKeywords(customerId, adGroupId, status, matchType, textContains));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
+    @GetMapping(value = "/fan-out", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Stream keywords of many customers",
+        description = "Runs Get keywords for every listed customer, and for every client account below managerId, with bounded "
+            + "concurrency. Keywords are streamed one per line as each customer completes; each customer is followed by an "
+            + "{\"outcome\": {customerId, status, count, latencyMs, error}} line, so failures are reported inline",
+        parameters = {
+            @Parameter(in = ParameterIn.QUERY, name = "includeRaw", description = "Set to false to leave out the raw plugin payload of each keyword",
+                schema = @Schema(type = "boolean", defaultValue = "true")),
+            @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Comma-separated keyword properties to return; all when omitted",
+                example = "id,text,status")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Keyword stream started"),
+            @ApiResponse(responseCode = "400", description = "No customers, too many customers or unknown manager"),
+            @ApiResponse(responseCode = "501", description = "Operation not supported by this publisher")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> fanOutKeywords(
+            @Parameter(description = "Publisher platform (google only)", example = "google")
+            @PathVariable String publisher,
+            @Parameter(description = "Google Ads customer IDs", example = "1234567890,2345678901")
+            @RequestParam(required = false) List<String> customerIds,
+            @Parameter(description = "Manager account whose client accounts are added", example = "9876543210")
+            @RequestParam(required = false) String managerId,
+            @Parameter(description = "Filter by ad group ID", example = "987654321")
+            @RequestParam(required = false) String adGroupId,
+            @Parameter(description = "Keyword status filter (ENABLED, PAUSED, REMOVED)", example = "ENABLED")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Keyword match type (BROAD, PHRASE, EXACT)", example = "EXACT")
+            @RequestParam(required = false) String matchType,
+            @Parameter(description = "Filter keywords where text contains this string", example = "shoes")
+            @RequestParam(required = false) String textContains) {
+        try {
+            Publisher pub = Publisher.valueOf(publisher.toUpperCase());
+            return ndjsonResponses.of(customerFanOutService.fanOut(pub, customerIds, managerId,
+                    (service, customerId) -> service.getKeywords(customerId, adGroupId, status, matchType, textContains)));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (UnsupportedOperationException e) {
@@ -61,10 +180,11 @@ public class KeywordController {
     @GetMapping("/{id}")
     @Operation(
         summary = "Get keyword by ID",
-        description = "Get a specific keyword by ID (Note: Not directly supported, use getKeywords instead)",
+        description = "Get a specific keyword by ID. Google keywords are found among those already listed through getKeywords; "
+            + "a stale entry reloads only the keywords of its customer",
         responses = {
             @ApiResponse(responseCode = "200", description = "Keyword found"),
-            @ApiResponse(responseCode = "404", description = "Keyword not found"),
+            @ApiResponse(responseCode = "404", description = "Keyword not found, or never listed"),
             @ApiResponse(responseCode = "400", description = "Invalid publisher specified"),
             @ApiResponse(responseCode = "501", description = "Operation not supported")
         }
@@ -72,7 +192,7 @@ public class KeywordController {
     public ResponseEntity<Keyword> getKeyword(
             @Parameter(description = "Publisher platform (google only)", example = "google")
             @PathVariable String publisher,
-            @Parameter(description = "Keyword ID", example = "111222333")
+            @Parameter(description = "Keyword ID (numeric)", example = "111222333")
             @PathVariable String id) {
         try {
             Publisher pub = Publisher.valueOf(publisher.toUpperCase());
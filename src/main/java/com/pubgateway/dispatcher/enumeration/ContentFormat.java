@@ -0,0 +1,34 @@
+package com.pubgateway.dispatcher.enumeration;
+
+import org.springframework.http.MediaType;
+
+public enum ContentFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    ContentFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Format of a response body by its Content-Type header; JSON when absent or unknown.
+     */
+    public static ContentFormat of(String contentType) {
+        if (contentType != null && !contentType.isEmpty()) {
+            MediaType type = MediaType.parseMediaType(contentType);
+            for (ContentFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(type)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,8 @@
+package com.pubgateway.dispatcher.enumeration;
+
+public enum EntityType {
+    CAMPAIGNS,
+    GROUPS,
+    ADS,
+    KEYWORDS
+}
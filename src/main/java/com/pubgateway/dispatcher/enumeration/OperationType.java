@@ -0,0 +1,6 @@
+package com.pubgateway.dispatcher.enumeration;
+
+public enum OperationType {
+    READ,
+    WRITE
+}
@@ -0,0 +1,12 @@
+package com.pubgateway.dispatcher.exception;
+
+/**
+ * Thrown when request parameters are out of range or inconsistent; the message is returned to
+ * the caller as the 400 response body.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
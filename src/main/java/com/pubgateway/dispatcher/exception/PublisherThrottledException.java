@@ -0,0 +1,28 @@
+package com.pubgateway.dispatcher.exception;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown without calling the plugin when the publisher or customer rate limit would not free a
+ * token within the configured queueing time.
+ */
+@Getter
+public class PublisherThrottledException extends PublisherUnavailableException {
+
+    private final Duration retryAfter;
+
+    public PublisherThrottledException(Publisher publisher, String reason, Duration retryAfter) {
+        super(publisher, null, publisher + " plugin calls are rate limited: " + reason);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * The {@code Retry-After} value: whole seconds, rounded up and at least one
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
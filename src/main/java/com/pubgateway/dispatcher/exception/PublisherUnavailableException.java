@@ -0,0 +1,22 @@
+package com.pubgateway.dispatcher.exception;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import lombok.Getter;
+
+/**
+ * Thrown without calling the plugin when its circuit breaker is open or its bulkhead is full.
+ */
+@Getter
+public class PublisherUnavailableException extends RuntimeException {
+
+    private final Publisher publisher;
+
+    public PublisherUnavailableException(Publisher publisher, String reason, Throwable cause) {
+        this(publisher, cause, publisher + " plugin is unavailable: " + reason);
+    }
+
+    protected PublisherUnavailableException(Publisher publisher, Throwable cause, String message) {
+        super(message, cause);
+        this.publisher = publisher;
+    }
+}
@@ -0,0 +1,42 @@
+package com.pubgateway.dispatcher.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.pubgateway.dispatcher.enumeration.ContentFormat;
+import feign.Response;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Boot's ObjectMapper in each {@link ContentFormat}. The binary mappers are copies, so they share its
+ * modules, features and filters. Deliberately not ObjectMapper beans, which would make Boot's back off.
+ */
+@Component
+public class DataFormats {
+
+    private final Map<ContentFormat, ObjectMapper> mappers = new EnumMap<>(ContentFormat.class);
+
+    public DataFormats(ObjectMapper objectMapper) {
+        mappers.put(ContentFormat.JSON, objectMapper);
+        mappers.put(ContentFormat.SMILE, objectMapper.copyWith(new SmileFactory()));
+        mappers.put(ContentFormat.CBOR, objectMapper.copyWith(new CBORFactory()));
+    }
+
+    public ObjectMapper mapper(ContentFormat format) {
+        return mappers.get(format);
+    }
+
+    /**
+     * Mapper for the body of a plugin response, by its Content-Type
+     */
+    public ObjectMapper mapperFor(Response response) {
+        Collection<String> contentType = response.headers().get(HttpHeaders.CONTENT_TYPE);
+        return mapper(ContentFormat.of(contentType == null || contentType.isEmpty()
+                ? null : contentType.iterator().next()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.pubgateway.dispatcher.json;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code String} field that carries an upstream JSON document ({@code Ads.raw}, {@code Keyword.raw}).
+ * <p>
+ * On the way in, a raw payload sent as an embedded object or array is copied token by token into the string
+ * without binding it; a payload sent as a JSON string is taken as is. On the way out, {@link RawJsonModule}
+ * decides whether it is written as an escaped string (the default), verbatim as embedded JSON, or not at all
+ * ({@code ?includeRaw=false}).
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotationsInside
+@JsonDeserialize(using = RawJsonDeserializer.class)
+public @interface RawJson {
+}
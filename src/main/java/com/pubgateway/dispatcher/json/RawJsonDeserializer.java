@@ -0,0 +1,40 @@
+package com.pubgateway.dispatcher.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads a {@link RawJson} field without binding it: objects and arrays are copied token by token into
+ * their JSON text, strings are taken as they are. Skipped entirely when the reader carries
+ * {@code includeRaw=false}, so dropped payloads are never materialized.
+ */
+public class RawJsonDeserializer extends StdDeserializer<String> {
+
+    public RawJsonDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (Boolean.FALSE.equals(context.getAttribute(RawJsonSupport.INCLUDE_RAW_ATTRIBUTE))) {
+            parser.skipChildren();
+            return null;
+        }
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            SegmentedStringWriter out = new SegmentedStringWriter(new BufferRecycler());
+            try (JsonGenerator generator = parser.getCodec().getFactory().createGenerator(out)) {
+                generator.copyCurrentStructure(parser);
+            }
+            return out.getAndClear();
+        }
+        return parser.getValueAsString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.pubgateway.dispatcher.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+import java.util.List;
+
+/**
+ * Serializes {@link RawJson} fields according to {@code dispatcher.json.raw-mode}:
+ * <ul>
+ *     <li>{@code STRING}: as a JSON string, the historical format</li>
+ *     <li>{@code EMBEDDED}: verbatim as embedded JSON, with no escaping (values that are not an object or
+ *     array are still written as strings)</li>
+ * </ul>
+ * {@code EMBEDDED} only applies to writers marked with {@link RawJsonSupport#RESPONSE_ATTRIBUTE}, i.e. dispatcher
+ * responses; anything else written with the same mapper, such as plugin request bodies, keeps the string form
+ * the plugins expect.
+ * Either way the field is left out when the writer carries {@code includeRaw=false}. Binary formats
+ * (Smile, CBOR) cannot take raw text, so embedded payloads are transcoded into them instead.
+ */
+public class RawJsonModule extends SimpleModule {
+
+    public enum Mode {
+        STRING,
+        EMBEDDED
+    }
+
+    public RawJsonModule(Mode mode) {
+        super("RawJsonModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription description,
+                                                             List<BeanPropertyWriter> properties) {
+                properties.replaceAll(property -> property.getAnnotation(RawJson.class) != null
+                        ? new RawJsonPropertyWriter(property, mode) : property);
+                return properties;
+            }
+        });
+    }
+
+    static final class RawJsonPropertyWriter extends BeanPropertyWriter {
+
+        private static final JsonFactory JSON = new JsonFactory();
+
+        private final Mode mode;
+
+        RawJsonPropertyWriter(BeanPropertyWriter base, Mode mode) {
+            super(base);
+            this.mode = mode;
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator generator, SerializerProvider provider) throws Exception {
+            if (Boolean.FALSE.equals(provider.getAttribute(RawJsonSupport.INCLUDE_RAW_ATTRIBUTE))) {
+                return;
+            }
+            Object value = get(bean);
+            if (mode == Mode.EMBEDDED && Boolean.TRUE.equals(provider.getAttribute(RawJsonSupport.RESPONSE_ATTRIBUTE))
+                    && value instanceof String raw && isStructured(raw)) {
+                generator.writeFieldName(_name);
+                if (generator.canWriteBinaryNatively()) {
+                    try (JsonParser parser = JSON.createParser(raw)) {
+                        parser.nextToken();
+                        generator.copyCurrentStructure(parser);
+                    }
+                } else {
+                    generator.writeRawValue(raw);
+                }
+                return;
+            }
+            super.serializeAsField(bean, generator, provider);
+        }
+
+        private static boolean isStructured(String raw) {
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (!Character.isWhitespace(c)) {
+                    return c == '{' || c == '[';
+                }
+            }
+            return false;
+        }
+    }
+}
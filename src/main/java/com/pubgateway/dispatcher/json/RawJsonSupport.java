@@ -0,0 +1,44 @@
+package com.pubgateway.dispatcher.json;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Per-request switch for {@link RawJson} fields, passed to Jackson as a reader/writer attribute.
+ */
+public final class RawJsonSupport {
+
+    /**
+     * Jackson attribute; {@code Boolean.FALSE} drops raw payloads
+     */
+    public static final String INCLUDE_RAW_ATTRIBUTE = RawJsonSupport.class.getName() + ".includeRaw";
+
+    /**
+     * Jackson attribute; {@code Boolean.TRUE} marks a writer producing a dispatcher response, the only
+     * output where {@link RawJsonModule.Mode#EMBEDDED} applies
+     */
+    public static final String RESPONSE_ATTRIBUTE = RawJsonSupport.class.getName() + ".response";
+
+    public static final String INCLUDE_RAW_PARAMETER = "includeRaw";
+
+    private static final String RAW_PROPERTY = "raw";
+
+    private RawJsonSupport() {
+    }
+
+    /**
+     * {@code false} when the GET request being handled on this thread asked for {@code ?includeRaw=false},
+     * or selected {@code ?fields=} without {@code raw}. Other methods always keep raw payloads: their
+     * entities are also sent to the plugins.
+     */
+    public static boolean includeRaw() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return !"GET".equals(request.getMethod())
+                    || !"false".equalsIgnoreCase(request.getParameter(INCLUDE_RAW_PARAMETER))
+                    && SparseFields.includes(RAW_PROPERTY);
+        }
+        return true;
+    }
+}
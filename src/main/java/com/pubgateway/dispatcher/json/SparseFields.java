@@ -0,0 +1,100 @@
+package com.pubgateway.dispatcher.json;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request {@code ?fields=id,name,status} selection of entity properties. Entity models carry
+ * {@link SparseFieldset}, which {@link #INTROSPECTOR} maps to the {@code FILTER_ID} filter; the selection's
+ * filter provider is passed to the Jackson writer.
+ * Selections are parsed once per distinct parameter value and cached together with their filter.
+ */
+public final class SparseFields {
+
+    public static final String FILTER_ID = "sparseFields";
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    /**
+     * Registered on the ObjectMapper, so filtered entities serialize in full when no selection applies
+     */
+    public static final FilterProvider ALL_FIELDS = new SimpleFilterProvider()
+            .addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+
+    /**
+     * Gives {@link SparseFieldset} entities the {@code FILTER_ID} filter; paired with the default introspector
+     */
+    public static final AnnotationIntrospector INTROSPECTOR = new NopAnnotationIntrospector() {
+        @Override
+        public Object findFilterId(Annotated annotated) {
+            return annotated.hasAnnotation(SparseFieldset.class) ? FILTER_ID : null;
+        }
+    };
+
+    private static final Cache<String, Selection> SELECTIONS = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .build();
+
+    /**
+     * @param fields  requested property names
+     * @param filters writer filter provider keeping only those properties
+     */
+    public record Selection(Set<String> fields, FilterProvider filters) {
+
+        public boolean includes(String property) {
+            return fields.contains(property);
+        }
+    }
+
+    private SparseFields() {
+    }
+
+    /**
+     * Selection of the GET request being handled on this thread, or {@code null} for all properties.
+     * Other methods always get full entities: their bodies are also sent to the plugins.
+     */
+    public static Selection current() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            if ("GET".equals(request.getMethod())) {
+                return parse(request.getParameter(FIELDS_PARAMETER));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@code false} only when the current request selects fields and {@code property} is not among them.
+     */
+    public static boolean includes(String property) {
+        Selection selection = current();
+        return selection == null || selection.includes(property);
+    }
+
+    public static Selection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        return SELECTIONS.get(fields, key -> {
+            Set<String> names = Arrays.stream(key.split(","))
+                    .map(String::trim)
+                    .filter(field -> !field.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet());
+            return new Selection(names, new SimpleFilterProvider()
+                    .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.pubgateway.dispatcher.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity whose properties can be selected with {@code ?fields=}.
+ * <p>
+ * Unlike {@code @JsonFilter}, this is only turned into a filter by the application's ObjectMapper, which
+ * also registers {@link SparseFields#ALL_FIELDS}; any other mapper simply writes the full entity.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SparseFieldset {
+}
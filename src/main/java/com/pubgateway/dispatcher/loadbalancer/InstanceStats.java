@@ -0,0 +1,140 @@
+package com.pubgateway.dispatcher.loadbalancer;
+
+import com.pubgateway.dispatcher.config.LoadBalancingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Per-instance latency EWMA and in-flight count for every plugin instance, fed by the plugin
+ * transport around each HTTP request that actually goes out, so a hedged copy is recorded against
+ * the instance it was sent to rather than the one the load balancer picked. The score used to
+ * compare instances is {@code ewmaLatency * (inFlight + 1)}: an instance that is slow or already
+ * busy scores high. Latency of an instance that has not been called for a while decays back
+ * towards the initial value, so an instance that was slow once is retried eventually.
+ */
+@Component
+@RequiredArgsConstructor
+public class InstanceStats {
+
+    private final LoadBalancingProperties properties;
+    private final Map<String, Map<String, Stats>> services = new ConcurrentHashMap<>();
+
+    /**
+     * @param instance {@code host:port} the request is sent to
+     */
+    public void onStart(String serviceId, String instance) {
+        stats(serviceId, instance).inFlight.incrementAndGet();
+    }
+
+    /**
+     * @param failed whether the request failed without a response
+     */
+    public void onComplete(String serviceId, String instance, long latencyNanos, boolean failed) {
+        Stats stats = stats(serviceId, instance);
+        stats.inFlight.decrementAndGet();
+        if (failed) {
+            stats.failures.incrementAndGet();
+            latencyNanos = Math.max(latencyNanos, properties.getFailurePenalty().toNanos());
+        }
+        stats.observe(latencyNanos, System.nanoTime());
+    }
+
+    /**
+     * The instance with the lowest score, {@code null} if there is none.
+     */
+    public ServiceInstance best(List<ServiceInstance> instances) {
+        return instances.stream().min(Comparator.comparingDouble(this::score)).orElse(null);
+    }
+
+    /**
+     * Lower is better.
+     */
+    double score(ServiceInstance instance) {
+        Stats stats = stats(instance);
+        return stats.latency(System.nanoTime()) * (stats.inFlight.get() + 1);
+    }
+
+    /**
+     * Drops instances that are no longer registered.
+     */
+    void retain(String serviceId, Collection<ServiceInstance> instances) {
+        Map<String, Stats> byInstance = services.get(serviceId);
+        if (byInstance != null && byInstance.size() > instances.size()) {
+            Set<String> live = instances.stream().map(InstanceStats::key).collect(Collectors.toSet());
+            byInstance.keySet().retainAll(live);
+        }
+    }
+
+    public Map<String, List<InstanceScore>> snapshot() {
+        long now = System.nanoTime();
+        Map<String, List<InstanceScore>> snapshot = new TreeMap<>();
+        services.forEach((serviceId, byInstance) -> snapshot.put(serviceId, byInstance.entrySet().stream()
+                .map(entry -> {
+                    Stats stats = entry.getValue();
+                    double latency = stats.latency(now);
+                    int inFlight = stats.inFlight.get();
+                    return new InstanceScore(entry.getKey(), latency / 1_000_000d, inFlight,
+                            latency * (inFlight + 1) / 1_000_000d, stats.samples.get(), stats.failures.get());
+                })
+                .sorted(Comparator.comparingDouble(InstanceScore::score))
+                .toList()));
+        return snapshot;
+    }
+
+    private Stats stats(ServiceInstance instance) {
+        return stats(instance.getServiceId(), key(instance));
+    }
+
+    private Stats stats(String serviceId, String instance) {
+        return services.computeIfAbsent(serviceId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(instance, key -> new Stats(properties.getInitialLatency().toNanos()));
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    public record InstanceScore(String instance, double latencyMs, int inFlight, double score,
+                                long samples, long failures) {
+    }
+
+    private final class Stats {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final double initial;
+        private double ewma;
+        private long updatedAt;
+
+        private Stats(double initial) {
+            this.initial = initial;
+            this.ewma = initial;
+            this.updatedAt = System.nanoTime();
+        }
+
+        synchronized void observe(long latency, long now) {
+            double current = latency(now);
+            double alpha = 1 - Math.exp(-Math.max(now - updatedAt, 0) / (double) properties.getDecayWindow().toNanos());
+            // The first sample replaces the guess rather than being averaged with it
+            ewma = samples.getAndIncrement() == 0 ? latency : current + Math.max(alpha, 0.1) * (latency - current);
+            updatedAt = now;
+        }
+
+        synchronized double latency(long now) {
+            double idle = Math.max(now - updatedAt, 0) / (double) properties.getDecayWindow().toNanos();
+            return initial + (ewma - initial) * Math.exp(-idle);
+        }
+    }
+}
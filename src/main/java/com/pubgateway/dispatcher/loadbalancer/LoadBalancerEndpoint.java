@@ -0,0 +1,25 @@
+package com.pubgateway.dispatcher.loadbalancer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/loadbalancer}: current latency, in-flight count and score of every plugin instance, best first.
+ */
+@Component
+@Endpoint(id = "loadbalancer")
+@RequiredArgsConstructor
+public class LoadBalancerEndpoint {
+
+    private final InstanceStats stats;
+
+    @ReadOperation
+    public Map<String, List<InstanceStats.InstanceScore>> scores() {
+        return stats.snapshot();
+    }
+}
@@ -0,0 +1,124 @@
+package com.pubgateway.dispatcher.metrics;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.InvalidRequestException;
+import com.pubgateway.dispatcher.exception.PublisherUnavailableException;
+import feign.FeignException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-path timers, all published with percentile histograms so p95/p99 can be aggregated across instances:
+ * <ul>
+ *     <li>{@code dispatcher.publisher.operation}: every {@code PublisherService} call, cache hits included
+ *     (publisher, operation, outcome)</li>
+ *     <li>{@code dispatcher.upstream.requests}: every HTTP request to a plugin instance, hedges included
+ *     (plugin, operation, instance, outcome)</li>
+ *     <li>{@code dispatcher.upstream.decode}: reading and decoding a plugin response body (plugin, operation)</li>
+ *     <li>{@code dispatcher.response.serialization}: writing our own response body (uri, format)</li>
+ *     <li>{@code dispatcher.publisher.entities}: entities returned per {@code PublisherService} call</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class DispatcherMetrics {
+
+    public static final String SUCCESS = "SUCCESS";
+    public static final String CLIENT_ERROR = "CLIENT_ERROR";
+    public static final String SERVER_ERROR = "SERVER_ERROR";
+    public static final String UNAVAILABLE = "UNAVAILABLE";
+    public static final String UNSUPPORTED = "UNSUPPORTED";
+    public static final String ERROR = "ERROR";
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry registry;
+
+    public void recordOperation(Publisher publisher, String operation, String outcome, long nanos) {
+        Timer.builder("dispatcher.publisher.operation")
+                .description("PublisherService calls, including cache hits")
+                .tags("publisher", publisher.name(), "operation", operation, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordEntities(Publisher publisher, String operation, long count) {
+        DistributionSummary.builder("dispatcher.publisher.entities")
+                .description("Entities returned per PublisherService call")
+                .baseUnit("entities")
+                .tags("publisher", publisher.name(), "operation", operation)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(count);
+    }
+
+    public void recordUpstream(String plugin, String operation, String instance, String outcome, long nanos) {
+        Timer.builder("dispatcher.upstream.requests")
+                .description("HTTP requests to plugin instances, until response headers are received")
+                .tags("plugin", plugin, "operation", operation, "instance", instance, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDecode(String plugin, String operation, long nanos) {
+        Timer.builder("dispatcher.upstream.decode")
+                .description("Reading and decoding plugin response bodies")
+                .tags("plugin", plugin, "operation", operation)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSerialization(String uri, String format, long nanos) {
+        Timer.builder("dispatcher.response.serialization")
+                .description("Serializing dispatcher response bodies")
+                .tags("uri", uri, "format", format)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static String outcome(Throwable error) {
+        if (error instanceof PublisherUnavailableException) {
+            return UNAVAILABLE;
+        }
+        if (error instanceof UnsupportedOperationException) {
+            return UNSUPPORTED;
+        }
+        if (error instanceof FeignException e) {
+            return e.status() >= 400 && e.status() < 500 ? CLIENT_ERROR : SERVER_ERROR;
+        }
+        if (error instanceof IllegalArgumentException || error instanceof InvalidRequestException) {
+            return CLIENT_ERROR;
+        }
+        return ERROR;
+    }
+
+    public static String outcome(int status) {
+        if (status >= 500) {
+            return SERVER_ERROR;
+        }
+        return status >= 400 ? CLIENT_ERROR : SUCCESS;
+    }
+
+    /**
+     * Route template of the request being handled on this thread, e.g. {@code /api/v1/publishers/{publisher}/campaigns}.
+     */
+    public static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object pattern = attributes != null
+                ? attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        return pattern != null ? pattern.toString() : UNKNOWN;
+    }
+}
@@ -0,0 +1,66 @@
+package com.pubgateway.dispatcher.metrics;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.model.response.Page;
+import com.pubgateway.dispatcher.service.PublisherService;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Times every {@link PublisherService} call and records how many entities it returned.
+ * Streaming calls are timed until the stream is open; their entity count is recorded when the stream is closed.
+ */
+public final class TimedPublisherService implements InvocationHandler {
+
+    private final Publisher publisher;
+    private final PublisherService delegate;
+    private final DispatcherMetrics metrics;
+
+    private TimedPublisherService(Publisher publisher, PublisherService delegate, DispatcherMetrics metrics) {
+        this.publisher = publisher;
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    public static PublisherService wrap(Publisher publisher, PublisherService delegate, DispatcherMetrics metrics) {
+        return (PublisherService) Proxy.newProxyInstance(PublisherService.class.getClassLoader(),
+                new Class<?>[]{PublisherService.class}, new TimedPublisherService(publisher, delegate, metrics));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(delegate, args);
+        }
+        String operation = method.getName();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            metrics.recordOperation(publisher, operation, DispatcherMetrics.outcome(e.getCause()), System.nanoTime() - start);
+            throw e.getCause();
+        }
+        metrics.recordOperation(publisher, operation, DispatcherMetrics.SUCCESS, System.nanoTime() - start);
+        return countEntities(operation, result);
+    }
+
+    private Object countEntities(String operation, Object result) {
+        if (result instanceof Collection<?> items) {
+            metrics.recordEntities(publisher, operation, items.size());
+        } else if (result instanceof Page<?> page && page.getItems() != null) {
+            metrics.recordEntities(publisher, operation, page.getItems().size());
+        } else if (result instanceof Stream<?> stream) {
+            AtomicLong count = new AtomicLong();
+            return stream.peek(item -> count.incrementAndGet())
+                    .onClose(() -> metrics.recordEntities(publisher, operation, count.get()));
+        }
+        return result;
+    }
+}
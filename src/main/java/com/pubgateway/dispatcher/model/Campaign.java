@@ -1,6 +1,7 @@
 package com.pubgateway.dispatcher.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pubgateway.dispatcher.json.SparseFieldset;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@SparseFieldset
 public class Campaign {
     private Long id;
     private String accountId;
@@ -1,6 +1,8 @@
 package com.pubgateway.dispatcher.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pubgateway.dispatcher.json.RawJson;
+import com.pubgateway.dispatcher.json.SparseFieldset;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,6 +10,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@SparseFieldset
 public class Keyword {
     private Long id;
 
@@ -27,6 +30,7 @@ public class Keyword {
     
     private Long adGroupId;
     
+    @RawJson
     @JsonProperty("raw")
     private String raw;
     
@@ -0,0 +1,40 @@
+package com.pubgateway.dispatcher.model.response;
+
+import com.pubgateway.dispatcher.model.Account;
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.model.Group;
+import com.pubgateway.dispatcher.model.Keyword;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountTreeResponse {
+    private List<Account> accounts;
+    private List<CampaignNode> campaigns;
+    private int depth;
+    private boolean complete;
+    private List<String> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CampaignNode {
+        private Campaign campaign;
+        private List<GroupNode> groups;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GroupNode {
+        private Group group;
+        private List<Ads> ads;
+        private List<Keyword> keywords;
+    }
+}
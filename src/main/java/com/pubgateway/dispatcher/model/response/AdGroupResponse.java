@@ -12,5 +12,6 @@ import java.util.List;
 @AllArgsConstructor
 public class AdGroupResponse {
     private List<Group> adGroups;
+    private String nextPageToken;
 }
 
@@ -12,5 +12,6 @@ import java.util.List;
 @AllArgsConstructor
 public class AdsResponse {
     private List<Ads> ads;
+    private String nextPageToken;
 }
 
@@ -0,0 +1,17 @@
+package com.pubgateway.dispatcher.model.response;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregateResponse<T> {
+    private List<T> items;
+    private Map<Publisher, PublisherOutcome> publishers;
+}
@@ -0,0 +1,24 @@
+package com.pubgateway.dispatcher.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult<T> {
+    private int index;
+    private int status;
+    private T item;
+    private String error;
+
+    /**
+     * Seconds to wait before retrying an item rejected with 429, {@code null} otherwise
+     */
+    private Long retryAfter;
+
+    public BatchItemResult(int index, int status, T item, String error) {
+        this(index, status, item, error, null);
+    }
+}
@@ -12,5 +12,6 @@ import java.util.List;
 @AllArgsConstructor
 public class CampaignResponse {
     private List<Campaign> campaigns;
+    private String nextPageToken;
 }
 
@@ -0,0 +1,20 @@
+package com.pubgateway.dispatcher.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one customer in a multi-customer fan-out, sent inline after that customer's entities.
+ * {@code status} takes the {@link PublisherOutcome} values.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOutcome {
+    private String customerId;
+    private String status;
+    private Integer count;
+    private Long latencyMs;
+    private String error;
+}
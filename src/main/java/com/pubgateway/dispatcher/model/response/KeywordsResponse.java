@@ -12,5 +12,6 @@ import java.util.List;
 @AllArgsConstructor
 public class KeywordsResponse {
     private List<Keyword> keywords;
+    private String nextPageToken;
 }
 
@@ -0,0 +1,19 @@
+package com.pubgateway.dispatcher.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublisherOutcome {
+    public static final String OK = "OK";
+    public static final String FAILED = "FAILED";
+    public static final String TIMEOUT = "TIMEOUT";
+
+    private String status;
+    private Integer count;
+    private Long latencyMs;
+    private String error;
+}
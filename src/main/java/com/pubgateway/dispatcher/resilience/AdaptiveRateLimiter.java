@@ -0,0 +1,313 @@
+package com.pubgateway.dispatcher.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pubgateway.dispatcher.config.RateLimitProperties;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.PublisherThrottledException;
+import com.pubgateway.dispatcher.exception.PublisherUnavailableException;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Token buckets in front of every plugin call: one per publisher, shared by all customers, and
+ * one per (publisher, customer), so a single heavy customer runs out of its own tokens before it
+ * can exhaust the publisher's quota for everyone else.
+ * <p>
+ * A call that finds no token queues (sleeps) until one is free, for at most {@code max-wait};
+ * beyond that it is rejected with {@link PublisherThrottledException} without consuming tokens.
+ * When the plugin reports throttling (HTTP 429 or a {@code RESOURCE_EXHAUSTED} error), the
+ * customer's rate and the publisher's rate are cut by {@code decrease-factor}, any burst is
+ * dropped and a plugin {@code Retry-After} is honoured; rates then climb back linearly over
+ * {@code recovery-period}.
+ */
+@Slf4j
+@Component
+public class AdaptiveRateLimiter {
+
+    private static final String RESOURCE_EXHAUSTED = "RESOURCE_EXHAUSTED";
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final Map<Publisher, PublisherLimit> publishers = new EnumMap<>(Publisher.class);
+    private final Cache<CustomerKey, TokenBucket> customers;
+
+    public AdaptiveRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.customers = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getCustomerIdle())
+                .maximumSize(properties.getMaxCustomers())
+                .build();
+        for (Publisher publisher : Publisher.values()) {
+            publishers.put(publisher, new PublisherLimit(publisher, properties.forPublisher(publisher), meterRegistry));
+        }
+    }
+
+    /**
+     * Takes a token from the publisher's bucket and, when {@code customerId} is given, from the
+     * customer's bucket, waiting until both have one.
+     */
+    public void acquire(Publisher publisher, String customerId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        PublisherLimit limit = publishers.get(publisher);
+        long now = System.nanoTime();
+        long maxWait = properties.getMaxWait().toNanos();
+
+        TokenBucket customer = customerId == null || customerId.isEmpty() ? null
+                : customers.get(new CustomerKey(publisher, customerId), key -> new TokenBucket(
+                        limit.config.getCustomerRate(), limit.config.getCustomerBurst(), now));
+        long customerWait = 0;
+        if (customer != null) {
+            customerWait = customer.reserve(now, maxWait);
+            if (customerWait < 0) {
+                limit.rejectedCustomer.increment();
+                throw new PublisherThrottledException(publisher,
+                        "rate limit exceeded for customer " + customerId, customer.retryAfter(now));
+            }
+        }
+        long publisherWait = limit.bucket.reserve(now, maxWait);
+        if (publisherWait < 0) {
+            if (customer != null) {
+                customer.refund();
+            }
+            limit.rejectedPublisher.increment();
+            throw new PublisherThrottledException(publisher, "rate limit exceeded", limit.bucket.retryAfter(now));
+        }
+
+        long wait = Math.max(customerWait, publisherWait);
+        limit.wait.record(wait, TimeUnit.NANOSECONDS);
+        if (wait == 0) {
+            return;
+        }
+        limit.queued.incrementAndGet();
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            limit.bucket.refund();
+            if (customer != null) {
+                customer.refund();
+            }
+            throw new PublisherUnavailableException(publisher, "interrupted while waiting for a rate limit token", e);
+        } finally {
+            limit.queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Like {@link #acquire(Publisher, String)}, but only takes tokens that are free right now and never
+     * queues or throws; {@code false} when either bucket is empty. A customer without a bucket yet is
+     * only counted against the publisher.
+     */
+    public boolean tryAcquire(Publisher publisher, String customerId) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        PublisherLimit limit = publishers.get(publisher);
+        long now = System.nanoTime();
+        TokenBucket customer = customerId == null || customerId.isEmpty() ? null
+                : customers.getIfPresent(new CustomerKey(publisher, customerId));
+        if (customer != null && customer.reserve(now, 0) < 0) {
+            return false;
+        }
+        if (limit.bucket.reserve(now, 0) < 0) {
+            if (customer != null) {
+                customer.refund();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Slows the customer and the publisher down when {@code error} is the plugin reporting
+     * throttling; other errors are ignored.
+     */
+    public void onFailure(Publisher publisher, String customerId, Throwable error) {
+        if (!properties.isEnabled() || !isThrottled(error)) {
+            return;
+        }
+        PublisherLimit limit = publishers.get(publisher);
+        limit.throttled.increment();
+        long now = System.nanoTime();
+        long pause = retryAfterNanos((FeignException) error);
+        if (customerId != null && !customerId.isEmpty()) {
+            TokenBucket customer = customers.getIfPresent(new CustomerKey(publisher, customerId));
+            if (customer != null) {
+                customer.throttle(now, pause, 0);
+            }
+        }
+        if (limit.bucket.throttle(now, pause, properties.getPublisherAdjustInterval().toNanos())) {
+            log.warn("{} plugin is throttling (customer {}), publisher rate lowered to {}/s",
+                    publisher, customerId, String.format(Locale.ROOT, "%.1f", limit.bucket.rate()));
+        }
+    }
+
+    /**
+     * Whether the plugin rejected the call for quota reasons rather than failing.
+     */
+    public static boolean isThrottled(Throwable error) {
+        return error instanceof FeignException e
+                && (e.status() == HttpStatus.TOO_MANY_REQUESTS.value() || e.contentUTF8().contains(RESOURCE_EXHAUSTED));
+    }
+
+    private static long retryAfterNanos(FeignException error) {
+        for (Map.Entry<String, Collection<String>> header : error.responseHeaders().entrySet()) {
+            if (HttpHeaders.RETRY_AFTER.equalsIgnoreCase(header.getKey())) {
+                for (String value : header.getValue()) {
+                    try {
+                        return TimeUnit.SECONDS.toNanos(Long.parseLong(value.trim()));
+                    } catch (NumberFormatException e) {
+                        // HTTP-date form; fall back to dropping the burst only
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private record CustomerKey(Publisher publisher, String customerId) {
+    }
+
+    private final class PublisherLimit {
+        private final RateLimitProperties.Limit config;
+        private final TokenBucket bucket;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Timer wait;
+        private final Counter rejectedPublisher;
+        private final Counter rejectedCustomer;
+        private final Counter throttled;
+
+        private PublisherLimit(Publisher publisher, RateLimitProperties.Limit config, MeterRegistry meterRegistry) {
+            String tag = publisher.name().toLowerCase(Locale.ROOT);
+            this.config = config;
+            this.bucket = new TokenBucket(config.getRate(), config.getBurst(), System.nanoTime());
+            this.wait = Timer.builder("dispatcher.ratelimit.wait")
+                    .description("Time plugin calls spent queued for a rate limit token")
+                    .tag("publisher", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.rejectedPublisher = Counter.builder("dispatcher.ratelimit.rejected")
+                    .tags("publisher", tag, "scope", "publisher")
+                    .register(meterRegistry);
+            this.rejectedCustomer = Counter.builder("dispatcher.ratelimit.rejected")
+                    .tags("publisher", tag, "scope", "customer")
+                    .register(meterRegistry);
+            this.throttled = Counter.builder("dispatcher.ratelimit.throttled")
+                    .description("Plugin responses reporting throttling")
+                    .tag("publisher", tag)
+                    .register(meterRegistry);
+            Gauge.builder("dispatcher.ratelimit.queued", queued, AtomicInteger::get)
+                    .description("Plugin calls currently waiting for a rate limit token")
+                    .tag("publisher", tag)
+                    .register(meterRegistry);
+            Gauge.builder("dispatcher.ratelimit.rate", bucket, TokenBucket::rate)
+                    .description("Current adaptive publisher rate in calls per second")
+                    .tag("publisher", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Classic token bucket that lets callers reserve a future token: the balance goes negative
+     * and each later caller waits behind the earlier reservations, which makes the wait a queue.
+     */
+    private final class TokenBucket {
+        private final double configuredRate;
+        private final double minRate;
+        private final double burst;
+        private double rate;
+        private double tokens;
+        private long updatedAt;
+        private long decreasedAt;
+        private boolean decreased;
+
+        private TokenBucket(double rate, int burst, long now) {
+            this.configuredRate = rate;
+            this.minRate = Math.max(rate * properties.getMinRateRatio(), 0.01);
+            this.burst = Math.max(1, burst);
+            this.rate = rate;
+            this.tokens = this.burst;
+            this.updatedAt = now;
+        }
+
+        /**
+         * Returns how long the caller must wait for its token, or -1 (consuming nothing) when
+         * that is longer than {@code maxWaitNanos}.
+         */
+        synchronized long reserve(long now, long maxWaitNanos) {
+            refill(now);
+            long wait = nanosUntilToken();
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            tokens -= 1;
+            return wait;
+        }
+
+        synchronized void refund() {
+            tokens = Math.min(burst, tokens + 1);
+        }
+
+        synchronized Duration retryAfter(long now) {
+            refill(now);
+            return Duration.ofNanos(nanosUntilToken());
+        }
+
+        /**
+         * Cuts the rate and drains the burst, unless the last cut is less than
+         * {@code minIntervalNanos} old.
+         */
+        synchronized boolean throttle(long now, long pauseNanos, long minIntervalNanos) {
+            if (decreased && now - decreasedAt < minIntervalNanos) {
+                return false;
+            }
+            refill(now);
+            rate = Math.max(minRate, rate * properties.getDecreaseFactor());
+            tokens = Math.min(tokens, -rate * pauseNanos / NANOS_PER_SECOND);
+            decreasedAt = now;
+            decreased = true;
+            return true;
+        }
+
+        synchronized double rate() {
+            refill(System.nanoTime());
+            return rate;
+        }
+
+        private long nanosUntilToken() {
+            return tokens >= 1 ? 0 : (long) ((1 - tokens) / rate * NANOS_PER_SECOND);
+        }
+
+        private void refill(long now) {
+            long elapsed = now - updatedAt;
+            if (elapsed <= 0) {
+                return;
+            }
+            double seconds = elapsed / NANOS_PER_SECOND;
+            if (rate < configuredRate) {
+                double recoverySeconds = Math.max(1, properties.getRecoveryPeriod().toMillis()) / 1000.0;
+                rate = Math.min(configuredRate, rate + configuredRate * seconds / recoverySeconds);
+            }
+            tokens = Math.min(burst, tokens + rate * seconds);
+            updatedAt = now;
+        }
+    }
+}
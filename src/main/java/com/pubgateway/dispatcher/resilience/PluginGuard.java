@@ -0,0 +1,294 @@
+package com.pubgateway.dispatcher.resilience;
+
+import com.pubgateway.dispatcher.config.ResilienceProperties;
+import com.pubgateway.dispatcher.enumeration.OperationType;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.InvalidRequestException;
+import com.pubgateway.dispatcher.exception.PublisherUnavailableException;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Circuit breaker and bulkhead around every plugin call, one pair per publisher and
+ * operation type, so a hanging plugin fails fast instead of holding request threads for the
+ * full read timeout and cannot starve calls to the other plugins.
+ * Only plugin-side failures (5xx, timeouts, connection errors) count towards opening a circuit;
+ * 4xx responses are the caller's problem and are passed through untouched, and throttling is
+ * left to the {@link AdaptiveRateLimiter} that every call passes first. A hedged copy of a call
+ * takes its own bulkhead permit and rate limit token (see {@link #tryAcquireHedge()}).
+ */
+@Slf4j
+@Component
+public class PluginGuard {
+
+    private static final ThreadLocal<GuardedCall> CURRENT = new ThreadLocal<>();
+
+    private final ResilienceProperties properties;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+
+    public PluginGuard(ResilienceProperties properties, AdaptiveRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        for (Publisher publisher : Publisher.values()) {
+            for (OperationType type : OperationType.values()) {
+                ResilienceProperties.Policy policy = properties.forType(type);
+                String name = name(publisher, type);
+                circuitBreakers.circuitBreaker(name, circuitBreakerConfig(policy))
+                        .getEventPublisher()
+                        .onStateTransition(event -> log.warn("Circuit breaker {}: {}",
+                                event.getCircuitBreakerName(), event.getStateTransition()));
+                bulkheads.bulkhead(name, BulkheadConfig.custom()
+                        .maxConcurrentCalls(policy.getMaxConcurrentCalls())
+                        .maxWaitDuration(policy.getMaxWait())
+                        .build());
+            }
+        }
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    public <T> T read(Publisher publisher, Supplier<T> call) {
+        return call(publisher, OperationType.READ, null, call);
+    }
+
+    /**
+     * Like {@link #read(Publisher, Supplier)}, also counting the call against {@code customerId}'s rate limit.
+     */
+    public <T> T read(Publisher publisher, String customerId, Supplier<T> call) {
+        return call(publisher, OperationType.READ, customerId, call);
+    }
+
+    /**
+     * Guards a streamed read for as long as the stream is open rather than just while it is opened: the
+     * bulkhead permit is held until the stream is closed, and a failure while the stream is consumed is
+     * recorded by the circuit breaker like a failed call.
+     */
+    public <T> Stream<T> readStream(Publisher publisher, String customerId, Supplier<Stream<T>> open) {
+        if (!properties.isEnabled()) {
+            return call(publisher, OperationType.READ, customerId, open);
+        }
+        rateLimiter.acquire(publisher, customerId);
+        Scope scope = new Scope(publisher, customerId, name(publisher, OperationType.READ));
+        Stream<T> stream;
+        try {
+            stream = within(new GuardedCall(publisher, OperationType.READ, customerId), open);
+        } catch (RuntimeException e) {
+            scope.close(e);
+            throw e;
+        }
+        return StreamSupport.stream(new GuardedSpliterator<>(stream.spliterator(), scope), false)
+                .onClose(() -> {
+                    try {
+                        stream.close();
+                    } finally {
+                        scope.close(null);
+                    }
+                });
+    }
+
+    public <T> T write(Publisher publisher, Supplier<T> call) {
+        return call(publisher, OperationType.WRITE, null, call);
+    }
+
+    public void write(Publisher publisher, Runnable call) {
+        call(publisher, OperationType.WRITE, null, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public <T> T call(Publisher publisher, OperationType type, String customerId, Supplier<T> call) {
+        rateLimiter.acquire(publisher, customerId);
+        try {
+            return within(new GuardedCall(publisher, type, customerId),
+                    properties.isEnabled() ? () -> guarded(publisher, type, call) : call);
+        } catch (RuntimeException e) {
+            rateLimiter.onFailure(publisher, customerId, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Permission to send a hedged copy of the plugin call running on this thread, counted against the
+     * same bulkhead and rate limits as the call itself: {@code null} when either has no room right now,
+     * or when the thread is not inside a guarded call. The returned callback must be run once the hedge
+     * has completed.
+     */
+    public Runnable tryAcquireHedge() {
+        GuardedCall current = CURRENT.get();
+        if (current == null) {
+            return null;
+        }
+        Bulkhead bulkhead = properties.isEnabled() ? bulkheads.bulkhead(name(current.publisher(), current.type())) : null;
+        if (bulkhead != null && !bulkhead.tryAcquirePermission()) {
+            return null;
+        }
+        if (!rateLimiter.tryAcquire(current.publisher(), current.customerId())) {
+            if (bulkhead != null) {
+                bulkhead.releasePermission();
+            }
+            return null;
+        }
+        return bulkhead != null ? bulkhead::onComplete : () -> {
+        };
+    }
+
+    private static <T> T within(GuardedCall call, Supplier<T> supplier) {
+        GuardedCall outer = CURRENT.get();
+        CURRENT.set(call);
+        try {
+            return supplier.get();
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    private <T> T guarded(Publisher publisher, OperationType type, Supplier<T> call) {
+        String name = name(publisher, type);
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreakers.circuitBreaker(name),
+                Bulkhead.decorateSupplier(bulkheads.bulkhead(name), call));
+        try {
+            return guarded.get();
+        } catch (CallNotPermittedException e) {
+            throw new PublisherUnavailableException(publisher, "circuit breaker is open", e);
+        } catch (BulkheadFullException e) {
+            throw new PublisherUnavailableException(publisher, "too many concurrent calls", e);
+        }
+    }
+
+    private record GuardedCall(Publisher publisher, OperationType type, String customerId) {
+    }
+
+    /**
+     * A circuit breaker call and bulkhead permit taken by hand, released once by {@link #close(Throwable)}.
+     */
+    private final class Scope {
+        private final Publisher publisher;
+        private final String customerId;
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+        private final long start;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Scope(Publisher publisher, String customerId, String name) {
+            this.publisher = publisher;
+            this.customerId = customerId;
+            this.circuitBreaker = circuitBreakers.circuitBreaker(name);
+            this.bulkhead = bulkheads.bulkhead(name);
+            try {
+                circuitBreaker.acquirePermission();
+            } catch (CallNotPermittedException e) {
+                throw new PublisherUnavailableException(publisher, "circuit breaker is open", e);
+            }
+            try {
+                bulkhead.acquirePermission();
+            } catch (BulkheadFullException e) {
+                circuitBreaker.releasePermission();
+                throw new PublisherUnavailableException(publisher, "too many concurrent calls", e);
+            }
+            this.start = System.nanoTime();
+        }
+
+        void close(Throwable error) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            long duration = System.nanoTime() - start;
+            bulkhead.onComplete();
+            if (error == null) {
+                circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+            } else {
+                circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, error);
+                rateLimiter.onFailure(publisher, customerId, error);
+            }
+        }
+    }
+
+    /**
+     * Closes the scope with the error when reading the next element fails.
+     */
+    private static final class GuardedSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Spliterator<T> source;
+        private final Scope scope;
+
+        private GuardedSpliterator(Spliterator<T> source, Scope scope) {
+            super(source.estimateSize(), source.characteristics());
+            this.source = source;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                return source.tryAdvance(action);
+            } catch (RuntimeException e) {
+                scope.close(e);
+                throw e;
+            }
+        }
+    }
+
+    CircuitBreakerRegistry circuitBreakers() {
+        return circuitBreakers;
+    }
+
+    BulkheadRegistry bulkheads() {
+        return bulkheads;
+    }
+
+    static String name(Publisher publisher, OperationType type) {
+        return publisher.name().toLowerCase(Locale.ROOT) + "-" + type.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static CircuitBreakerConfig circuitBreakerConfig(ResilienceProperties.Policy policy) {
+        return CircuitBreakerConfig.custom()
+                .failureRateThreshold(policy.getFailureRateThreshold())
+                .slowCallDurationThreshold(policy.getSlowCallDuration())
+                .slowCallRateThreshold(policy.getSlowCallRateThreshold())
+                .slidingWindowSize(policy.getSlidingWindowSize())
+                .minimumNumberOfCalls(policy.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(policy.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(policy.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(PluginGuard::isPluginFailure)
+                .build();
+    }
+
+    private static boolean isPluginFailure(Throwable t) {
+        if (t instanceof FeignException e) {
+            return (e.status() < 0 || e.status() >= 500) && !AdaptiveRateLimiter.isThrottled(e);
+        }
+        return !(t instanceof BulkheadFullException
+                || t instanceof UnsupportedOperationException
+                || t instanceof IllegalArgumentException
+                || t instanceof InvalidRequestException);
+    }
+}
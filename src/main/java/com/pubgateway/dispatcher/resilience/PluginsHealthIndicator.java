@@ -0,0 +1,48 @@
+package com.pubgateway.dispatcher.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports circuit breaker state per plugin and operation type under {@code /actuator/health}.
+ * An open or half-open circuit reports DEGRADED rather than DOWN: the dispatcher itself is
+ * still serving the healthy plugins and must not be pulled out of rotation.
+ */
+@Component
+@RequiredArgsConstructor
+public class PluginsHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED");
+
+    private final PluginGuard guard;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        for (CircuitBreaker circuitBreaker : guard.circuitBreakers().getAllCircuitBreakers()) {
+            CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("state", circuitBreaker.getState());
+            details.put("failureRate", metrics.getFailureRate());
+            details.put("slowCallRate", metrics.getSlowCallRate());
+            details.put("bufferedCalls", metrics.getNumberOfBufferedCalls());
+            details.put("notPermittedCalls", metrics.getNumberOfNotPermittedCalls());
+            guard.bulkheads().find(circuitBreaker.getName()).map(Bulkhead::getMetrics).ifPresent(bulkhead ->
+                    details.put("availableConcurrentCalls", bulkhead.getAvailableConcurrentCalls()));
+            builder.withDetail(circuitBreaker.getName(), details);
+            if (circuitBreaker.getState() != CircuitBreaker.State.CLOSED
+                    && circuitBreaker.getState() != CircuitBreaker.State.DISABLED) {
+                builder.status(DEGRADED);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,207 @@
+package com.pubgateway.dispatcher.service;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.InvalidRequestException;
+import com.pubgateway.dispatcher.model.Account;
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.model.Group;
+import com.pubgateway.dispatcher.model.Keyword;
+import com.pubgateway.dispatcher.model.response.AccountTreeResponse;
+import com.pubgateway.dispatcher.model.response.AccountTreeResponse.CampaignNode;
+import com.pubgateway.dispatcher.model.response.AccountTreeResponse.GroupNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Expands account -> campaigns -> ad groups -> ads/keywords server-side.
+ * Every level is fetched with a single customer-wide plugin call, all levels concurrently,
+ * and the tree is assembled locally by campaign and ad group id, so a tree costs at most
+ * five plugin calls whatever its size.
+ * Depth: 0 = account, 1 = campaigns, 2 = ad groups, 3 = ads, 4 = keywords.
+ */
+@Slf4j
+@Service
+public class AccountTreeService {
+
+    public static final int MAX_DEPTH = 4;
+
+    private final PublisherServiceFactory serviceFactory;
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+    private final Duration deadline;
+
+    public AccountTreeService(PublisherServiceFactory serviceFactory,
+                              ExecutorService publisherExecutor,
+                              @Value("${dispatcher.tree.max-concurrency:16}") int maxConcurrency,
+                              @Value("${dispatcher.tree.deadline:20s}") Duration deadline) {
+        this.serviceFactory = serviceFactory;
+        this.executor = publisherExecutor;
+        this.maxConcurrency = maxConcurrency;
+        this.deadline = deadline;
+    }
+
+    public AccountTreeResponse expand(Publisher publisher, String accountId, int depth, int concurrency) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new InvalidRequestException("depth must be between 0 and " + MAX_DEPTH);
+        }
+        PublisherService service = serviceFactory.getService(publisher);
+        Walk walk = new Walk(Math.max(1, Math.min(concurrency, maxConcurrency)), deadline);
+
+        Step<List<Account>> account = new Step<>("account " + accountId, () -> service.getAccount(accountId));
+        Step<List<Campaign>> campaigns = new Step<>("campaigns of account " + accountId,
+                () -> service.getCampaigns(accountId, null, null, null, null, null));
+        Step<List<Group>> groups = new Step<>("groups of account " + accountId,
+                () -> service.getGroups(accountId, null, null, null));
+        Step<List<Ads>> ads = new Step<>("ads of account " + accountId,
+                () -> service.getAds(accountId, null, null, null));
+        Step<List<Keyword>> keywords = new Step<>("keywords of account " + accountId,
+                () -> service.getKeywords(accountId, null, null, null, null));
+        walk.run(List.of(account, campaigns, groups, ads, keywords).subList(0, depth + 1), executor);
+
+        AccountTreeResponse tree = new AccountTreeResponse(account.result, null, depth, true, null);
+        if (campaigns.result != null) {
+            Map<String, List<GroupNode>> groupsByCampaign = groups.result == null ? null
+                    : groupNodes(groups.result, ads.result, keywords.result);
+            tree.setCampaigns(campaigns.result.stream()
+                    .map(campaign -> new CampaignNode(campaign, groupsByCampaign == null ? null
+                            : groupsByCampaign.getOrDefault(idOf(campaign.getId()), new ArrayList<>())))
+                    .toList());
+        }
+        tree.setComplete(walk.isComplete());
+        tree.setErrors(new ArrayList<>(walk.errors));
+        return tree;
+    }
+
+    private static Map<String, List<GroupNode>> groupNodes(List<Group> groups, List<Ads> ads, List<Keyword> keywords) {
+        Map<String, List<Ads>> adsByGroup = ads == null ? null
+                : ads.stream().collect(Collectors.groupingBy(ad -> idOf(ad.getGroupId())));
+        Map<String, List<Keyword>> keywordsByGroup = keywords == null ? null
+                : keywords.stream().collect(Collectors.groupingBy(keyword -> idOf(keyword.getAdGroupId())));
+        Map<String, List<GroupNode>> nodes = new HashMap<>();
+        for (Group group : groups) {
+            String groupId = idOf(group.getId());
+            nodes.computeIfAbsent(idOf(group.getCampaignId()), id -> new ArrayList<>()).add(new GroupNode(group,
+                    adsByGroup == null ? null : adsByGroup.getOrDefault(groupId, new ArrayList<>()),
+                    keywordsByGroup == null ? null : keywordsByGroup.getOrDefault(groupId, new ArrayList<>())));
+        }
+        return nodes;
+    }
+
+    private static String idOf(Long id) {
+        return id != null ? String.valueOf(id) : "";
+    }
+
+    /**
+     * One plugin call of the walk. {@link #result} is only written by the thread running the
+     * walk, after the call finished in time, so a call that overruns the deadline cannot change
+     * a tree that is already being returned.
+     */
+    private static final class Step<T> {
+        private final String label;
+        private final Supplier<T> call;
+        private Future<T> future;
+        private T result;
+
+        Step(String label, Supplier<T> call) {
+            this.label = label;
+            this.call = call;
+        }
+    }
+
+    /**
+     * Per-request state: the concurrency permits, the overall deadline and collected errors
+     */
+    private static class Walk {
+        private final Semaphore permits;
+        private final long deadlineNanos;
+        private final Set<String> errors = new LinkedHashSet<>();
+        private boolean complete = true;
+
+        Walk(int concurrency, Duration deadline) {
+            this.permits = new Semaphore(concurrency);
+            this.deadlineNanos = System.nanoTime() + deadline.toNanos();
+        }
+
+        boolean isComplete() {
+            return complete && errors.isEmpty();
+        }
+
+        void run(List<? extends Step<?>> steps, ExecutorService executor) {
+            List<Step<?>> submitted = new ArrayList<>(steps.size());
+            try {
+                for (Step<?> step : steps) {
+                    // tryAcquire succeeds with a non-positive timeout whenever a permit is free
+                    if (remainingNanos() <= 0 || !permits.tryAcquire(remainingNanos(), TimeUnit.NANOSECONDS)) {
+                        timedOut();
+                        break;
+                    }
+                    submit(step, executor);
+                    submitted.add(step);
+                }
+                for (Step<?> step : submitted) {
+                    collect(step);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                submitted.forEach(step -> step.future.cancel(true));
+                complete = false;
+            }
+        }
+
+        private <T> void submit(Step<T> step, ExecutorService executor) {
+            step.future = executor.submit(() -> {
+                try {
+                    return step.call.get();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        private <T> void collect(Step<T> step) throws InterruptedException {
+            try {
+                step.result = step.future.get(remainingNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                step.future.cancel(true);
+                timedOut();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UnsupportedOperationException) {
+                    errors.add(cause.getMessage());
+                } else {
+                    log.warn("Tree expansion step '{}' failed: {}", step.label, cause.getMessage());
+                    errors.add(step.label + ": " + cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                }
+            }
+        }
+
+        private long remainingNanos() {
+            return Math.max(0, deadlineNanos - System.nanoTime());
+        }
+
+        private void timedOut() {
+            if (complete) {
+                complete = false;
+                errors.add("Deadline exceeded, tree is partial");
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.pubgateway.dispatcher.service;
+
+import com.pubgateway.dispatcher.exception.InvalidRequestException;
+import com.pubgateway.dispatcher.exception.PublisherThrottledException;
+import com.pubgateway.dispatcher.exception.PublisherUnavailableException;
+import com.pubgateway.dispatcher.model.response.BatchItemResult;
+import com.pubgateway.dispatcher.model.response.BatchResponse;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Applies one plugin mutation per item of a batch with bounded parallelism and collects
+ * a result (status, entity or error) per item. A failing item never fails the batch.
+ */
+@Slf4j
+@Service
+public class BatchMutationService {
+
+    private final ExecutorService executor;
+    private final int concurrency;
+    private final int maxItems;
+
+    public BatchMutationService(ExecutorService publisherExecutor,
+                                @Value("${dispatcher.batch.concurrency:16}") int concurrency,
+                                @Value("${dispatcher.batch.max-items:5000}") int maxItems) {
+        this.executor = publisherExecutor;
+        this.concurrency = concurrency;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * @param items         batch input, results keep the same order and carry the input index
+     * @param mutation      plugin call for a single item; a {@code null} result is reported without a body
+     * @param successStatus HTTP status reported for an item that succeeded
+     */
+    public <I, R> BatchResponse<R> execute(List<I> items, Function<I, R> mutation, HttpStatus successStatus) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidRequestException("Batch must contain at least one item");
+        }
+        if (items.size() > maxItems) {
+            throw new InvalidRequestException("Batch must not contain more than " + maxItems + " items");
+        }
+
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<BatchItemResult<R>>> futures = new ArrayList<>(items.size());
+        try {
+            for (int i = 0; i < items.size(); i++) {
+                int index = i;
+                I item = items.get(i);
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        return apply(index, item, mutation, successStatus);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while dispatching batch", e);
+        }
+
+        List<BatchItemResult<R>> results = new ArrayList<>(items.size());
+        int succeeded = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            BatchItemResult<R> result;
+            try {
+                result = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result = new BatchItemResult<>(i, HttpStatus.INTERNAL_SERVER_ERROR.value(), null, "Interrupted");
+            } catch (ExecutionException e) {
+                result = new BatchItemResult<>(i, HttpStatus.INTERNAL_SERVER_ERROR.value(), null, String.valueOf(e.getCause()));
+            }
+            if (result.getError() == null) {
+                succeeded++;
+            }
+            results.add(result);
+        }
+        return new BatchResponse<>(succeeded, results.size() - succeeded, results);
+    }
+
+    private static <I, R> BatchItemResult<R> apply(int index, I item, Function<I, R> mutation, HttpStatus successStatus) {
+        try {
+            return new BatchItemResult<>(index, successStatus.value(), mutation.apply(item), null);
+        } catch (FeignException e) {
+            log.warn("Batch item {} rejected by plugin: {}", index, e.getMessage());
+            int status = e.status() > 0 ? e.status() : HttpStatus.BAD_GATEWAY.value();
+            return new BatchItemResult<>(index, status, null, e.getMessage());
+        } catch (PublisherThrottledException e) {
+            return new BatchItemResult<>(index, HttpStatus.TOO_MANY_REQUESTS.value(), null, e.getMessage(),
+                    e.getRetryAfterSeconds());
+        } catch (PublisherUnavailableException e) {
+            return new BatchItemResult<>(index, HttpStatus.SERVICE_UNAVAILABLE.value(), null, e.getMessage());
+        } catch (UnsupportedOperationException e) {
+            return new BatchItemResult<>(index, HttpStatus.NOT_IMPLEMENTED.value(), null, e.getMessage());
+        } catch (IllegalArgumentException | InvalidRequestException e) {
+            return new BatchItemResult<>(index, HttpStatus.BAD_REQUEST.value(), null, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Batch item {} failed: {}", index, e.getMessage());
+            return new BatchItemResult<>(index, HttpStatus.INTERNAL_SERVER_ERROR.value(), null, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.pubgateway.dispatcher.service;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.InvalidRequestException;
+import com.pubgateway.dispatcher.model.Account;
+import com.pubgateway.dispatcher.model.response.CustomerOutcome;
+import com.pubgateway.dispatcher.model.response.PublisherOutcome;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs the same list call for many customers of one publisher, e.g. every client of a Google manager
+ * account. At most {@code dispatcher.fan-out.customer-concurrency} calls are in flight; results are
+ * emitted as each customer completes, its entities followed by an {@code {"outcome": ...}} element, so a
+ * failing customer is reported inline without failing the others.
+ */
+@Slf4j
+@Service
+public class CustomerFanOutService {
+
+    static final String OUTCOME_FIELD = "outcome";
+
+    private final PublisherServiceFactory serviceFactory;
+    private final ExecutorService executor;
+    private final int concurrency;
+    private final int maxCustomers;
+
+    public CustomerFanOutService(PublisherServiceFactory serviceFactory,
+                                 ExecutorService publisherExecutor,
+                                 @Value("${dispatcher.fan-out.customer-concurrency:16}") int concurrency,
+                                 @Value("${dispatcher.fan-out.max-customers:2000}") int maxCustomers) {
+        this.serviceFactory = serviceFactory;
+        this.executor = publisherExecutor;
+        this.concurrency = concurrency;
+        this.maxCustomers = maxCustomers;
+    }
+
+    /**
+     * @param customerIds explicit customers, may be combined with {@code managerId}
+     * @param managerId   manager whose client (non-manager) accounts are added, at any depth
+     * @return lazily started stream of entities and outcomes in arrival order; closing it cancels pending calls
+     */
+    public <T> Stream<Object> fanOut(Publisher publisher, List<String> customerIds, String managerId,
+                                     BiFunction<PublisherService, String, List<T>> call) {
+        PublisherService service = serviceFactory.getService(publisher);
+        Set<String> customers = new LinkedHashSet<>();
+        if (customerIds != null) {
+            customerIds.stream().map(String::trim).filter(id -> !id.isEmpty()).forEach(customers::add);
+        }
+        if (managerId != null && !managerId.isEmpty()) {
+            List<Account> subtree = service.getAccountSubtree(managerId, null);
+            if (subtree == null) {
+                throw new InvalidRequestException("Unknown manager account " + managerId);
+            }
+            subtree.stream()
+                    .filter(account -> !Boolean.TRUE.equals(account.getManager()))
+                    .forEach(account -> customers.add(String.valueOf(account.getId())));
+        }
+        if (customers.isEmpty()) {
+            throw new InvalidRequestException("At least one customerId or a managerId with client accounts is required");
+        }
+        if (customers.size() > maxCustomers) {
+            throw new InvalidRequestException("Fan-out must not cover more than " + maxCustomers + " customers");
+        }
+        Merge<T> merge = new Merge<>(service, new ArrayDeque<>(customers), call);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merge, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(merge::cancel);
+    }
+
+    private CustomerResult attempt(PublisherService service, String customerId,
+                                   BiFunction<PublisherService, String, ? extends List<?>> call) {
+        long start = System.nanoTime();
+        try {
+            List<?> items = call.apply(service, customerId);
+            items = items != null ? items : List.of();
+            return new CustomerResult(items, new CustomerOutcome(
+                    customerId, PublisherOutcome.OK, items.size(), elapsedMillis(start), null));
+        } catch (RuntimeException e) {
+            log.warn("Fan-out call for customer {} failed: {}", customerId, e.getMessage());
+            return new CustomerResult(List.of(), new CustomerOutcome(
+                    customerId, PublisherOutcome.FAILED, null, elapsedMillis(start), describe(e)));
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static String describe(Throwable error) {
+        return error.getClass().getSimpleName() + (error.getMessage() != null ? ": " + error.getMessage() : "");
+    }
+
+    private record CustomerResult(List<?> items, CustomerOutcome outcome) {
+
+        Iterator<Object> elements() {
+            List<Object> elements = new ArrayList<>(items.size() + 1);
+            elements.addAll(items);
+            elements.add(Map.of(OUTCOME_FIELD, outcome));
+            return elements.iterator();
+        }
+    }
+
+    /**
+     * Keeps up to {@code concurrency} customer calls running and hands out their results as they complete.
+     * Driven by the thread writing the response.
+     */
+    private final class Merge<T> implements Iterator<Object> {
+
+        private final PublisherService service;
+        private final Deque<String> pending;
+        private final BiFunction<PublisherService, String, List<T>> call;
+        private final CompletionService<CustomerResult> completions = new ExecutorCompletionService<>(executor);
+        private final List<Future<CustomerResult>> futures = Collections.synchronizedList(new ArrayList<>());
+        private Iterator<Object> current = Collections.emptyIterator();
+        private int running;
+
+        Merge(PublisherService service, Deque<String> pending, BiFunction<PublisherService, String, List<T>> call) {
+            this.service = service;
+            this.pending = pending;
+            this.call = call;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                fill();
+                if (running == 0) {
+                    return false;
+                }
+                current = take().elements();
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private void fill() {
+            while (running < concurrency && !pending.isEmpty()) {
+                String customerId = pending.poll();
+                futures.add(completions.submit(() -> attempt(service, customerId, call)));
+                running++;
+            }
+        }
+
+        private CustomerResult take() {
+            try {
+                Future<CustomerResult> done = completions.take();
+                running--;
+                futures.remove(done);
+                return done.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new IllegalStateException("Interrupted while waiting for fan-out results", e);
+            } catch (ExecutionException e) {
+                // attempt() reports failures as outcomes, so this is not expected
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        void cancel() {
+            pending.clear();
+            synchronized (futures) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+    }
+}
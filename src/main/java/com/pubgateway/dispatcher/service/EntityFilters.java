@@ -0,0 +1,82 @@
+package com.pubgateway.dispatcher.service;
+
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.model.Group;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Local equivalents of the Google plugin's list filters, for publishers whose plugin
+ * cannot filter upstream. Semantics follow the plugin: status and type match
+ * case-insensitively, "contains" filters are case-insensitive substring matches and
+ * start dates (YYYY-MM-DD) are compared inclusively.
+ */
+final class EntityFilters {
+
+    private EntityFilters() {
+    }
+
+    static Predicate<Campaign> campaigns(String status, String nameContains, String channelType,
+                                         String startDateFrom, String startDateTo) {
+        return campaign -> matches(campaign.getStatus(), status)
+                && contains(campaign.getName(), nameContains)
+                && matches(campaign.getAdvertisingChannelType(), channelType)
+                && onOrAfter(campaign.getStartDate(), startDateFrom)
+                && onOrBefore(campaign.getStartDate(), startDateTo);
+    }
+
+    static Predicate<Group> groups(String status, String nameContains) {
+        return group -> matches(group.getStatus(), status)
+                && contains(group.getName(), nameContains);
+    }
+
+    static Predicate<Ads> ads(String status, String textContains) {
+        return ad -> matches(ad.getStatus(), status)
+                && (contains(ad.getName(), textContains) || contains(ad.getRaw(), textContains));
+    }
+
+    static boolean isUnfiltered(String... filters) {
+        for (String filter : filters) {
+            if (filter != null && !filter.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static <T> List<T> apply(List<T> items, Predicate<T> filter) {
+        return items.stream().filter(filter).toList();
+    }
+
+    private static boolean matches(String value, String expected) {
+        return expected == null || expected.isEmpty() || expected.equalsIgnoreCase(value);
+    }
+
+    private static boolean contains(String value, String fragment) {
+        if (fragment == null || fragment.isEmpty()) {
+            return true;
+        }
+        return value != null && value.toLowerCase(Locale.ROOT).contains(fragment.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean onOrAfter(String date, String from) {
+        if (from == null || from.isEmpty()) {
+            return true;
+        }
+        return date != null && datePart(date).compareTo(from) >= 0;
+    }
+
+    private static boolean onOrBefore(String date, String to) {
+        if (to == null || to.isEmpty()) {
+            return true;
+        }
+        return date != null && datePart(date).compareTo(to) <= 0;
+    }
+
+    private static String datePart(String date) {
+        return date.length() > 10 ? date.substring(0, 10) : date;
+    }
+}
@@ -0,0 +1,102 @@
+package com.pubgateway.dispatcher.service;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.model.response.AggregateResponse;
+import com.pubgateway.dispatcher.model.response.PublisherOutcome;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Issues the same list call against several publishers at once and merges the results.
+ * A publisher that fails or misses the deadline is reported in the response instead of
+ * failing the whole request, so the overall latency is that of the slowest publisher.
+ */
+@Slf4j
+@Service
+public class FanOutService {
+
+    private final PublisherServiceFactory serviceFactory;
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public FanOutService(PublisherServiceFactory serviceFactory,
+                         ExecutorService publisherExecutor,
+                         @Value("${dispatcher.fan-out.timeout:15s}") Duration timeout) {
+        this.serviceFactory = serviceFactory;
+        this.executor = publisherExecutor;
+        this.timeout = timeout;
+    }
+
+    public <T> AggregateResponse<T> fanOut(Collection<Publisher> publishers, Function<PublisherService, List<T>> call) {
+        Map<Publisher, Future<Attempt<T>>> futures = new EnumMap<>(Publisher.class);
+        for (Publisher publisher : publishers) {
+            futures.put(publisher, executor.submit(() -> attempt(publisher, call)));
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<T> items = new ArrayList<>();
+        Map<Publisher, PublisherOutcome> outcomes = new EnumMap<>(Publisher.class);
+        for (Map.Entry<Publisher, Future<Attempt<T>>> entry : futures.entrySet()) {
+            Publisher publisher = entry.getKey();
+            Future<Attempt<T>> future = entry.getValue();
+            try {
+                Attempt<T> attempt = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (attempt.error() == null) {
+                    items.addAll(attempt.items());
+                    outcomes.put(publisher, new PublisherOutcome(
+                            PublisherOutcome.OK, attempt.items().size(), attempt.latencyMs(), null));
+                } else {
+                    outcomes.put(publisher, new PublisherOutcome(
+                            PublisherOutcome.FAILED, null, attempt.latencyMs(), describe(attempt.error())));
+                }
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                outcomes.put(publisher, new PublisherOutcome(
+                        PublisherOutcome.TIMEOUT, null, timeout.toMillis(), "No response within " + timeout));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                outcomes.put(publisher, new PublisherOutcome(PublisherOutcome.FAILED, null, null, "Interrupted"));
+            } catch (ExecutionException e) {
+                outcomes.put(publisher, new PublisherOutcome(PublisherOutcome.FAILED, null, null, describe(e.getCause())));
+            }
+        }
+        return new AggregateResponse<>(items, outcomes);
+    }
+
+    private <T> Attempt<T> attempt(Publisher publisher, Function<PublisherService, List<T>> call) {
+        long start = System.nanoTime();
+        try {
+            List<T> result = call.apply(serviceFactory.getService(publisher));
+            return new Attempt<>(result != null ? result : List.of(), elapsedMillis(start), null);
+        } catch (RuntimeException e) {
+            log.warn("Fan-out call to {} failed: {}", publisher, e.getMessage());
+            return new Attempt<>(null, elapsedMillis(start), e);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static String describe(Throwable error) {
+        return error.getClass().getSimpleName() + (error.getMessage() != null ? ": " + error.getMessage() : "");
+    }
+
+    private record Attempt<T>(List<T> items, long latencyMs, Throwable error) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.pubgateway.dispatcher.service;
+
+import com.pubgateway.dispatcher.cache.CacheKey;
+import com.pubgateway.dispatcher.cache.SingleFlight;
+import com.pubgateway.dispatcher.client.GooglePubGatewayClient;
+import com.pubgateway.dispatcher.config.AccountHierarchyProperties;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.model.Account;
+import com.pubgateway.dispatcher.model.response.AccountsResponse;
+import com.pubgateway.dispatcher.resilience.PluginGuard;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory manager (MCC) to client graph of the Google accounts, so account lookups and hierarchy walks
+ * do not list accounts from the plugin on every request.
+ * <p>
+ * The plugin lists every account below a manager, with levels relative to that manager; parent links are
+ * taken from the level-1 rows of each manager's own listing. A hierarchy is loaded for every root manager
+ * the first time one of its accounts is asked for (or at startup for {@code dispatcher.accounts.root-managers})
+ * and reloaded every {@code dispatcher.accounts.refresh-interval}. Readers always see a complete graph:
+ * reloads build a new one and swap it in.
+ */
+@Slf4j
+@Component
+public class GoogleAccountHierarchy {
+
+    /**
+     * Accounts by id and child ids by manager id, for one root manager
+     */
+    record Graph(Map<Long, Account> accounts, Map<Long, List<Long>> children) {
+
+        static final Graph EMPTY = new Graph(Map.of(), Map.of());
+    }
+
+    private final GooglePubGatewayClient client;
+    private final SingleFlight singleFlight;
+    private final PluginGuard guard;
+    private final Map<String, Graph> roots = new ConcurrentHashMap<>();
+    private volatile Graph merged = Graph.EMPTY;
+
+    public GoogleAccountHierarchy(GooglePubGatewayClient client, SingleFlight singleFlight, PluginGuard guard,
+                                  AccountHierarchyProperties properties, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.singleFlight = singleFlight;
+        this.guard = guard;
+        properties.getRootManagers().forEach(root -> roots.put(root, Graph.EMPTY));
+        Gauge.builder("dispatcher.accounts.hierarchy.size", this, hierarchy -> hierarchy.merged.accounts().size())
+                .description("Google accounts held in the manager hierarchy")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The account, loading its hierarchy with the account as root if it is not known yet; {@code null} if the
+     * plugin does not know it either.
+     */
+    public Account account(String id) {
+        long key = GooglePublisherService.parseId(id);
+        Account account = merged.accounts().get(key);
+        if (account == null) {
+            load(id);
+            account = merged.accounts().get(key);
+        }
+        return account != null ? withLevel(account, 0) : null;
+    }
+
+    /**
+     * Direct clients of a manager; empty for client accounts, {@code null} if the account is unknown.
+     */
+    public List<Account> children(String id) {
+        return subtree(id, 1);
+    }
+
+    /**
+     * Every account below the manager, breadth first, with levels relative to it; {@code null} if the account
+     * is unknown.
+     *
+     * @param maxDepth deepest level included, {@code null} for all
+     */
+    public List<Account> subtree(String id, Integer maxDepth) {
+        if (account(id) == null) {
+            return null;
+        }
+        Graph graph = merged;
+        List<Account> result = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        Deque<long[]> queue = new ArrayDeque<>();
+        queue.add(new long[]{Long.parseLong(id), 0});
+        while (!queue.isEmpty()) {
+            long[] next = queue.poll();
+            long level = next[1] + 1;
+            if (maxDepth != null && level > maxDepth) {
+                continue;
+            }
+            for (Long child : graph.children().getOrDefault(next[0], List.of())) {
+                Account account = graph.accounts().get(child);
+                if (account != null && seen.add(child)) {
+                    result.add(withLevel(account, level));
+                    queue.add(new long[]{child, level});
+                }
+            }
+        }
+        return result;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${dispatcher.accounts.refresh-interval:PT10M}")
+    public void refresh() {
+        for (String root : List.copyOf(roots.keySet())) {
+            try {
+                load(root);
+            } catch (RuntimeException e) {
+                // Keep serving the previous graph of this root
+                log.warn("Failed to refresh Google account hierarchy of {}: {}", root, e.toString());
+            }
+        }
+    }
+
+    private void load(String root) {
+        Graph graph = singleFlight.execute(CacheKey.of(Publisher.GOOGLE, "accountHierarchy", root), () -> fetch(root));
+        if (graph.accounts().isEmpty()) {
+            return;
+        }
+        roots.put(root, graph);
+        merge();
+        log.debug("Loaded Google account hierarchy of {}: {} accounts", root, graph.accounts().size());
+    }
+
+    private Graph fetch(String root) {
+        Map<Long, Account> accounts = new LinkedHashMap<>();
+        Map<Long, List<Long>> children = new HashMap<>();
+        Deque<String> managers = new ArrayDeque<>(List.of(root));
+        Set<String> visited = new HashSet<>();
+        while (!managers.isEmpty()) {
+            String manager = managers.poll();
+            if (!visited.add(manager)) {
+                continue;
+            }
+            for (Account account : listAccounts(manager)) {
+                if (account.getId() == null) {
+                    continue;
+                }
+                long level = account.getLevel() != null ? account.getLevel() : 0;
+                if (level == 0) {
+                    accounts.put(account.getId(), account);
+                } else if (level == 1) {
+                    accounts.putIfAbsent(account.getId(), account);
+                    children.computeIfAbsent(Long.parseLong(manager), key -> new ArrayList<>()).add(account.getId());
+                    if (Boolean.TRUE.equals(account.getManager())) {
+                        managers.add(String.valueOf(account.getId()));
+                    }
+                }
+            }
+        }
+        children.replaceAll((manager, ids) -> List.copyOf(ids));
+        return new Graph(Collections.unmodifiableMap(accounts), Collections.unmodifiableMap(children));
+    }
+
+    private List<Account> listAccounts(String managerId) {
+        AccountsResponse response = guard.read(Publisher.GOOGLE, managerId, () -> client.getAccounts(managerId, null, null));
+        if (response == null || response.getAccounts() == null) {
+            return List.of();
+        }
+        response.getAccounts().forEach(account -> account.setPublisher("GOOGLE"));
+        return response.getAccounts();
+    }
+
+    private synchronized void merge() {
+        Map<Long, Account> accounts = new HashMap<>();
+        Map<Long, List<Long>> children = new HashMap<>();
+        for (Graph graph : roots.values()) {
+            accounts.putAll(graph.accounts());
+            children.putAll(graph.children());
+        }
+        merged = new Graph(accounts, children);
+    }
+
+    private static Account withLevel(Account account, long level) {
+        return new Account(account.getId(), account.getName(), account.getStatus(), account.getCurrency(),
+                account.getTimezone(), account.getPublisher(), account.getManager(), level,
+                account.getClientCustomer());
+    }
+}
@@ -0,0 +1,109 @@
+package com.pubgateway.dispatcher.service;
+
+import com.pubgateway.dispatcher.client.GooglePubGatewayClient;
+import com.pubgateway.dispatcher.client.JsonListRewriter;
+import com.pubgateway.dispatcher.config.JsonProperties;
+import com.pubgateway.dispatcher.config.PassthroughProperties;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.json.RawJsonModule;
+import com.pubgateway.dispatcher.json.RawJsonSupport;
+import com.pubgateway.dispatcher.json.SparseFields;
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import com.pubgateway.dispatcher.resilience.PluginGuard;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Zero-copy variant of the unpaged Google list calls: the plugin response is rewritten token by token
+ * into the dispatcher's JSON array format instead of being bound to entities and serialized again.
+ * Responses are not cached or coalesced.
+ */
+@Service
+@RequiredArgsConstructor
+public class GooglePassthroughService {
+
+    private static final String PUBLISHER = "GOOGLE";
+
+    private static final Set<String> RAW_FIELDS = Set.of("raw");
+
+    private final GooglePubGatewayClient client;
+    private final JsonListRewriter rewriter;
+    private final PluginGuard guard;
+    private final DispatcherMetrics metrics;
+    private final PassthroughProperties properties;
+    private final JsonProperties jsonProperties;
+
+    public boolean supports(Publisher publisher) {
+        return properties.isEnabled() && publisher == Publisher.GOOGLE && prefersJson();
+    }
+
+    /**
+     * Passthrough output is always JSON; clients preferring Smile or CBOR take the regular path.
+     */
+    private static boolean prefersJson() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return true;
+        }
+        String accept = attributes.getRequest().getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        return MediaType.parseMediaTypes(accept).stream()
+                .max(Comparator.comparingDouble(MediaType::getQualityValue))
+                .map(preferred -> preferred.isCompatibleWith(MediaType.APPLICATION_JSON))
+                .orElse(true);
+    }
+
+    public StreamingResponseBody getCampaigns(String customerId, String status, String nameContains, String channelType,
+                                              String startDateFrom, String startDateTo) {
+        return passthrough("getCampaigns", customerId, "campaigns",
+                Map.of("publisher", PUBLISHER, "accountId", customerId), Set.of(),
+                () -> client.streamCampaigns(customerId, status, nameContains, channelType, startDateFrom, startDateTo));
+    }
+
+    public StreamingResponseBody getGroups(String customerId, String campaignId, String status, String nameContains) {
+        return passthrough("getGroups", customerId, "adGroups",
+                Map.of("publisher", PUBLISHER), Set.of(),
+                () -> client.streamAdGroups(customerId, nameContains, status, campaignId));
+    }
+
+    public StreamingResponseBody getAds(String customerId, String adGroupId, String status, String textContains) {
+        return passthrough("getAds", customerId, "ads",
+                Map.of("publisher", PUBLISHER), RAW_FIELDS,
+                () -> client.streamAds(customerId, adGroupId, status, textContains));
+    }
+
+    public StreamingResponseBody getKeywords(String customerId, String adGroupId, String status, String matchType,
+                                             String textContains) {
+        return passthrough("getKeywords", customerId, "keywords",
+                Map.of("publisher", PUBLISHER), RAW_FIELDS,
+                () -> client.streamKeywords(customerId, adGroupId, status, matchType, textContains));
+    }
+
+    private StreamingResponseBody passthrough(String operation, String customerId, String arrayField,
+                                              Map<String, String> inject, Set<String> rawFields,
+                                              Supplier<Response> call) {
+        if (customerId == null || customerId.isEmpty()) {
+            return out -> out.write(new byte[]{'[', ']'});
+        }
+        // Resolved on the request thread; the body is written later on an async thread
+        Set<String> drop = RawJsonSupport.includeRaw() ? Set.of() : rawFields;
+        SparseFields.Selection selection = SparseFields.current();
+        JsonListRewriter.Spec spec = new JsonListRewriter.Spec(arrayField,
+                selection == null ? null : selection.fields(), inject, drop, rawFields,
+                jsonProperties.getRawMode() == RawJsonModule.Mode.EMBEDDED);
+        return guard.read(Publisher.GOOGLE, customerId, () -> rewriter.rewrite(call.get(), spec,
+                count -> metrics.recordEntities(Publisher.GOOGLE, operation, count)));
+    }
+}
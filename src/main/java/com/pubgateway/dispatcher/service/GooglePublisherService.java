@@ -1,40 +1,62 @@
 package com.pubgateway.dispatcher.service;
 
+import com.pubgateway.dispatcher.cache.CacheKey;
+import com.pubgateway.dispatcher.cache.EntityCache;
+import com.pubgateway.dispatcher.cache.EntityIndex;
+import com.pubgateway.dispatcher.cache.PageSnapshots;
 import com.pubgateway.dispatcher.client.GooglePubGatewayClient;
+import com.pubgateway.dispatcher.client.ResponseStreamReader;
+import com.pubgateway.dispatcher.config.PagingProperties;
+import com.pubgateway.dispatcher.enumeration.EntityType;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.InvalidRequestException;
 import com.pubgateway.dispatcher.model.Account;
 import com.pubgateway.dispatcher.model.Ads;
 import com.pubgateway.dispatcher.model.Campaign;
 import com.pubgateway.dispatcher.model.Group;
 import com.pubgateway.dispatcher.model.Keyword;
-import com.pubgateway.dispatcher.model.response.AccountsResponse;
 import com.pubgateway.dispatcher.model.response.AdGroupResponse;
 import com.pubgateway.dispatcher.model.response.AdsResponse;
 import com.pubgateway.dispatcher.model.response.CampaignResponse;
 import com.pubgateway.dispatcher.model.response.KeywordsResponse;
+import com.pubgateway.dispatcher.model.response.Page;
+import com.pubgateway.dispatcher.resilience.PluginGuard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class GooglePublisherService implements PublisherService {
 
     private final GooglePubGatewayClient client;
+    private final EntityCache cache;
+    private final EntityIndex index;
+    private final GoogleAccountHierarchy accountHierarchy;
+    private final ResponseStreamReader streamReader;
+    private final PageSnapshots pageSnapshots;
+    private final PagingProperties pagingProperties;
+    private final PluginGuard guard;
 
     @Override
     public List<Account> getAccount(String id) {
-        // The Google API doesn't support getting a single account by ID
-        // We need to fetch all accounts and filter by ID
-        AccountsResponse response = client.getAccounts(id, null, null);
-        if (response != null && response.getAccounts() != null) {
-            // Set publisher field and filter by ID
-            return response.getAccounts().stream()
-                    .peek(account -> account.setPublisher("GOOGLE"))
-                    .collect(java.util.stream.Collectors.toList());
-        }
-        return Collections.emptyList();
+        // The Google API doesn't support getting a single account by ID, so it comes from the cached hierarchy
+        Account account = accountHierarchy.account(id);
+        return account != null ? List.of(account) : Collections.emptyList();
+    }
+
+    @Override
+    public List<Account> getSubAccounts(String id) {
+        return accountHierarchy.children(id);
+    }
+
+    @Override
+    public List<Account> getAccountSubtree(String id, Integer maxDepth) {
+        return accountHierarchy.subtree(id, maxDepth);
     }
 
     @Override
@@ -53,26 +75,47 @@ public class GooglePublisherService implements PublisherService {
     }
 
     @Override
-    public List<Campaign> getCampaigns(String customerId) {
+    public List<Campaign> getCampaigns(String customerId, String status, String nameContains, String channelType, String startDateFrom, String startDateTo) {
         if (customerId == null || customerId.isEmpty()) {
             return Collections.emptyList();
         }
-        CampaignResponse response = client.getCampaigns(customerId, null, null, null, null, null);
+        return cache.get(EntityType.CAMPAIGNS,
+                CacheKey.of(Publisher.GOOGLE, "getCampaigns", customerId, status, nameContains, channelType, startDateFrom, startDateTo),
+                () -> fetchCampaigns(customerId, status, nameContains, channelType, startDateFrom, startDateTo, null, null).getItems());
+    }
+
+    @Override
+    public Page<Campaign> getCampaignsPage(String customerId, String status, String nameContains, String channelType, String startDateFrom, String startDateTo, Integer pageSize, String pageToken) {
+        if (customerId == null || customerId.isEmpty()) {
+            return Page.empty();
+        }
+        if (pagingProperties.isGoogleUpstream()) {
+            int size = pageSnapshots.resolvePageSize(pageSize);
+            return fetchCampaigns(customerId, status, nameContains, channelType, startDateFrom, startDateTo, size, pageToken);
+        }
+        return pageSnapshots.page(CacheKey.of(Publisher.GOOGLE, "getCampaigns", customerId, status, nameContains,
+                        channelType, startDateFrom, startDateTo), pageSize, pageToken,
+                () -> getCampaigns(customerId, status, nameContains, channelType, startDateFrom, startDateTo));
+    }
+
+    private Page<Campaign> fetchCampaigns(String customerId, String status, String nameContains, String channelType, String startDateFrom, String startDateTo, Integer pageSize, String pageToken) {
+        CampaignResponse response = guard.read(Publisher.GOOGLE, customerId, () -> client.getCampaigns(customerId, status, nameContains, channelType, startDateFrom, startDateTo, pageSize, pageToken));
         if (response != null && response.getCampaigns() != null) {
             // Set publisher field for each campaign
             response.getCampaigns().forEach(campaign -> {
                 campaign.setPublisher("GOOGLE");
                 campaign.setAccountId(customerId);
             });
-            return response.getCampaigns();
+            index.put(EntityType.CAMPAIGNS, customerId, response.getCampaigns(), Campaign::getId);
+            return new Page<>(response.getCampaigns(), response.getNextPageToken());
         }
-        return Collections.emptyList();
+        return Page.empty();
     }
 
     @Override
     public Campaign getCampaign(String id) {
-        // The Google API doesn't support getting a single campaign by ID directly
-        throw new UnsupportedOperationException("Use getCampaigns with customerId to retrieve campaigns");
+        return lookup(EntityType.CAMPAIGNS, id, Campaign::getId,
+                customerId -> getCampaigns(customerId, null, null, null, null, null));
     }
 
     @Override
@@ -91,23 +134,42 @@ public class GooglePublisherService implements PublisherService {
     }
 
     @Override
-    public List<Group> getGroups(String customerId, String campaignId) {
+    public List<Group> getGroups(String customerId, String campaignId, String status, String nameContains) {
         if (customerId == null || customerId.isEmpty()) {
             return Collections.emptyList();
         }
-        AdGroupResponse response = client.getAdGroups(customerId, null, null, campaignId);
+        return cache.get(EntityType.GROUPS,
+                CacheKey.of(Publisher.GOOGLE, "getGroups", customerId, campaignId, status, nameContains),
+                () -> fetchGroups(customerId, campaignId, status, nameContains, null, null).getItems());
+    }
+
+    @Override
+    public Page<Group> getGroupsPage(String customerId, String campaignId, String status, String nameContains, Integer pageSize, String pageToken) {
+        if (customerId == null || customerId.isEmpty()) {
+            return Page.empty();
+        }
+        if (pagingProperties.isGoogleUpstream()) {
+            int size = pageSnapshots.resolvePageSize(pageSize);
+            return fetchGroups(customerId, campaignId, status, nameContains, size, pageToken);
+        }
+        return pageSnapshots.page(CacheKey.of(Publisher.GOOGLE, "getGroups", customerId, campaignId, status, nameContains),
+                pageSize, pageToken, () -> getGroups(customerId, campaignId, status, nameContains));
+    }
+
+    private Page<Group> fetchGroups(String customerId, String campaignId, String status, String nameContains, Integer pageSize, String pageToken) {
+        AdGroupResponse response = guard.read(Publisher.GOOGLE, customerId, () -> client.getAdGroups(customerId, nameContains, status, campaignId, pageSize, pageToken));
         if (response != null && response.getAdGroups() != null) {
             // Set publisher field for each ad group
             response.getAdGroups().forEach(group -> group.setPublisher("GOOGLE"));
-            return response.getAdGroups();
+            index.put(EntityType.GROUPS, customerId, response.getAdGroups(), Group::getId);
+            return new Page<>(response.getAdGroups(), response.getNextPageToken());
         }
-        return Collections.emptyList();
+        return Page.empty();
     }
 
     @Override
     public Group getGroup(String id) {
-        // The Google API doesn't support getting a single ad group by ID directly
-        throw new UnsupportedOperationException("Use getGroups with customerId to retrieve ad groups");
+        return lookup(EntityType.GROUPS, id, Group::getId, customerId -> getGroups(customerId, null, null, null));
     }
 
     @Override
@@ -126,23 +188,55 @@ public class GooglePublisherService implements PublisherService {
     }
 
     @Override
-    public List<Ads> getAds(String customerId, String adGroupId) {
+    public List<Ads> getAds(String customerId, String adGroupId, String status, String textContains) {
         if (customerId == null || customerId.isEmpty()) {
             return Collections.emptyList();
         }
-        AdsResponse response = client.getAds(customerId, adGroupId, null, null);
+        return cache.get(EntityType.ADS,
+                CacheKey.of(Publisher.GOOGLE, "getAds", customerId, adGroupId, status, textContains),
+                () -> fetchAds(customerId, adGroupId, status, textContains, null, null).getItems());
+    }
+
+    @Override
+    public Page<Ads> getAdsPage(String customerId, String adGroupId, String status, String textContains, Integer pageSize, String pageToken) {
+        if (customerId == null || customerId.isEmpty()) {
+            return Page.empty();
+        }
+        if (pagingProperties.isGoogleUpstream()) {
+            int size = pageSnapshots.resolvePageSize(pageSize);
+            return fetchAds(customerId, adGroupId, status, textContains, size, pageToken);
+        }
+        return pageSnapshots.page(CacheKey.of(Publisher.GOOGLE, "getAds", customerId, adGroupId, status, textContains),
+                pageSize, pageToken, () -> getAds(customerId, adGroupId, status, textContains));
+    }
+
+    private Page<Ads> fetchAds(String customerId, String adGroupId, String status, String textContains, Integer pageSize, String pageToken) {
+        AdsResponse response = guard.read(Publisher.GOOGLE, customerId, () -> client.getAds(customerId, adGroupId, status, textContains, pageSize, pageToken));
         if (response != null && response.getAds() != null) {
             // Set publisher field for each ad
             response.getAds().forEach(ad -> ad.setPublisher("GOOGLE"));
-            return response.getAds();
+            index.put(EntityType.ADS, customerId, response.getAds(), Ads::getId);
+            return new Page<>(response.getAds(), response.getNextPageToken());
+        }
+        return Page.empty();
+    }
+
+    @Override
+    public Stream<Ads> streamAds(String customerId, String adGroupId, String status, String textContains) {
+        if (customerId == null || customerId.isEmpty()) {
+            return Stream.empty();
         }
-        return Collections.emptyList();
+        return guard.readStream(Publisher.GOOGLE, customerId,
+                        () -> streamReader.stream(client.streamAds(customerId, adGroupId, status, textContains), "ads", Ads.class))
+                .peek(ad -> {
+                    ad.setPublisher("GOOGLE");
+                    index.put(EntityType.ADS, customerId, ad, Ads::getId);
+                });
     }
 
     @Override
     public Ads getAd(String id) {
-        // The Google API doesn't support getting a single ad by ID directly
-        throw new UnsupportedOperationException("Use getAds with customerId to retrieve ads");
+        return lookup(EntityType.ADS, id, Ads::getId, customerId -> getAds(customerId, null, null, null));
     }
 
     @Override
@@ -165,19 +259,88 @@ public class GooglePublisherService implements PublisherService {
         if (customerId == null || customerId.isEmpty()) {
             return Collections.emptyList();
         }
-        KeywordsResponse response = client.getKeywords(customerId, adGroupId, status, matchType, textContains);
+        return cache.get(EntityType.KEYWORDS,
+                CacheKey.of(Publisher.GOOGLE, "getKeywords", customerId, adGroupId, status, matchType, textContains),
+                () -> fetchKeywords(customerId, adGroupId, status, matchType, textContains, null, null).getItems());
+    }
+
+    @Override
+    public Page<Keyword> getKeywordsPage(String customerId, String adGroupId, String status, String matchType, String textContains, Integer pageSize, String pageToken) {
+        if (customerId == null || customerId.isEmpty()) {
+            return Page.empty();
+        }
+        if (pagingProperties.isGoogleUpstream()) {
+            int size = pageSnapshots.resolvePageSize(pageSize);
+            return fetchKeywords(customerId, adGroupId, status, matchType, textContains, size, pageToken);
+        }
+        return pageSnapshots.page(CacheKey.of(Publisher.GOOGLE, "getKeywords", customerId, adGroupId, status, matchType,
+                        textContains), pageSize, pageToken,
+                () -> getKeywords(customerId, adGroupId, status, matchType, textContains));
+    }
+
+    private Page<Keyword> fetchKeywords(String customerId, String adGroupId, String status, String matchType, String textContains, Integer pageSize, String pageToken) {
+        KeywordsResponse response = guard.read(Publisher.GOOGLE, customerId, () -> client.getKeywords(customerId, adGroupId, status, matchType, textContains, pageSize, pageToken));
         if (response != null && response.getKeywords() != null) {
             // Set publisher field for each keyword
             response.getKeywords().forEach(keyword -> keyword.setPublisher("GOOGLE"));
-            return response.getKeywords();
+            index.put(EntityType.KEYWORDS, customerId, response.getKeywords(), Keyword::getId);
+            return new Page<>(response.getKeywords(), response.getNextPageToken());
         }
-        return Collections.emptyList();
+        return Page.empty();
+    }
+
+    @Override
+    public Stream<Keyword> streamKeywords(String customerId, String adGroupId, String status, String matchType, String textContains) {
+        if (customerId == null || customerId.isEmpty()) {
+            return Stream.empty();
+        }
+        return guard.readStream(Publisher.GOOGLE, customerId, () -> streamReader.stream(
+                        client.streamKeywords(customerId, adGroupId, status, matchType, textContains), "keywords", Keyword.class))
+                .peek(keyword -> {
+                    keyword.setPublisher("GOOGLE");
+                    index.put(EntityType.KEYWORDS, customerId, keyword, Keyword::getId);
+                });
     }
 
     @Override
     public Keyword getKeyword(String id) {
-        // The Google API doesn't support getting a single keyword by ID directly
-        throw new UnsupportedOperationException("Use getKeywords with customerId to retrieve keywords");
+        return lookup(EntityType.KEYWORDS, id, Keyword::getId,
+                customerId -> getKeywords(customerId, null, null, null, null));
+    }
+
+    /**
+     * The Google API has no single-entity reads, so they are answered from the id index. On a miss only the
+     * customer the entity was last listed under is reloaded; ids that were never listed are not found.
+     */
+    private <T> T lookup(EntityType type, String id, Function<T, Long> idOf, Function<String, List<T>> reload) {
+        long key = parseId(id);
+        T entity = index.get(type, key);
+        if (entity != null) {
+            return entity;
+        }
+        String customerId = index.owner(type, key);
+        if (customerId == null) {
+            return null;
+        }
+        // The list may come from the cache without refilling the index, so look through it as well
+        for (T item : reload.apply(customerId)) {
+            if (Long.valueOf(key).equals(idOf.apply(item))) {
+                index.put(type, customerId, item, idOf);
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Google ids are numeric; anything else cannot name an entity and is the caller's mistake.
+     */
+    static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid Google id '" + id + "', expected a number");
+        }
     }
 
     @Override
@@ -1,124 +1,205 @@
 package com.pubgateway.dispatcher.service;
 
+import com.pubgateway.dispatcher.cache.CacheKey;
+import com.pubgateway.dispatcher.cache.EntityCache;
+import com.pubgateway.dispatcher.cache.PageSnapshots;
 import com.pubgateway.dispatcher.client.MetaPubGatewayClient;
+import com.pubgateway.dispatcher.client.ResponseStreamReader;
+import com.pubgateway.dispatcher.enumeration.EntityType;
+import com.pubgateway.dispatcher.enumeration.Publisher;
 import com.pubgateway.dispatcher.model.Account;
 import com.pubgateway.dispatcher.model.Ads;
 import com.pubgateway.dispatcher.model.Campaign;
 import com.pubgateway.dispatcher.model.Group;
 import com.pubgateway.dispatcher.model.Keyword;
+import com.pubgateway.dispatcher.model.response.Page;
+import com.pubgateway.dispatcher.resilience.PluginGuard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class MetaPublisherService implements PublisherService {
 
     private final MetaPubGatewayClient client;
+    private final EntityCache cache;
+    private final ResponseStreamReader streamReader;
+    private final PageSnapshots pageSnapshots;
+    private final PluginGuard guard;
 
     @Override
     public List<Account> getAccount(String id) {
-        return Collections.singletonList(client.getAccount(id));
+        return Collections.singletonList(guard.read(Publisher.META, () -> client.getAccount(id)));
     }
 
     @Override
     public Account createAccount(Account account) {
         account.setPublisher("META");
-        return client.createAccount(account);
+        return guard.write(Publisher.META, () -> client.createAccount(account));
     }
 
     @Override
     public Account updateAccount(String id, Account account) {
         account.setPublisher("META");
-        return client.updateAccount(id, account);
+        return guard.write(Publisher.META, () -> client.updateAccount(id, account));
     }
 
     @Override
     public void deleteAccount(String id) {
-        client.deleteAccount(id);
+        guard.write(Publisher.META, () -> client.deleteAccount(id));
     }
 
     @Override
-    public List<Campaign> getCampaigns(String accountId) {
-        return client.getCampaigns(accountId);
+    public List<Account> getSubAccounts(String id) {
+        throw new UnsupportedOperationException("Meta PubGateway API does not expose an account hierarchy");
+    }
+
+    @Override
+    public List<Account> getAccountSubtree(String id, Integer maxDepth) {
+        throw new UnsupportedOperationException("Meta PubGateway API does not expose an account hierarchy");
+    }
+
+    @Override
+    public List<Campaign> getCampaigns(String accountId, String status, String nameContains, String channelType, String startDateFrom, String startDateTo) {
+        // The Meta plugin cannot filter, so the unfiltered list is cached and filtered locally
+        List<Campaign> campaigns = cache.get(EntityType.CAMPAIGNS, CacheKey.of(Publisher.META, "getCampaigns", accountId),
+                () -> guard.read(Publisher.META, accountId, () -> client.getCampaigns(accountId)));
+        if (EntityFilters.isUnfiltered(status, nameContains, channelType, startDateFrom, startDateTo)) {
+            return campaigns;
+        }
+        return EntityFilters.apply(campaigns,
+                EntityFilters.campaigns(status, nameContains, channelType, startDateFrom, startDateTo));
+    }
+
+    @Override
+    public Page<Campaign> getCampaignsPage(String accountId, String status, String nameContains, String channelType, String startDateFrom, String startDateTo, Integer pageSize, String pageToken) {
+        // The Meta plugin returns bare arrays with no continuation token, so pages always come from a snapshot
+        return pageSnapshots.page(CacheKey.of(Publisher.META, "getCampaigns", accountId, status, nameContains,
+                        channelType, startDateFrom, startDateTo), pageSize, pageToken,
+                () -> getCampaigns(accountId, status, nameContains, channelType, startDateFrom, startDateTo));
     }
 
     @Override
     public Campaign getCampaign(String id) {
-        return client.getCampaign(id);
+        return guard.read(Publisher.META, () -> client.getCampaign(id));
     }
 
     @Override
     public Campaign createCampaign(Campaign campaign) {
         campaign.setPublisher("META");
-        return client.createCampaign(campaign);
+        Campaign created = guard.write(Publisher.META, () -> client.createCampaign(campaign));
+        cache.invalidate(Publisher.META, EntityType.CAMPAIGNS);
+        return created;
     }
 
     @Override
     public Campaign updateCampaign(String id, Campaign campaign) {
         campaign.setPublisher("META");
-        return client.updateCampaign(id, campaign);
+        Campaign updated = guard.write(Publisher.META, () -> client.updateCampaign(id, campaign));
+        cache.invalidate(Publisher.META, EntityType.CAMPAIGNS);
+        return updated;
     }
 
     @Override
     public void deleteCampaign(String id) {
-        client.deleteCampaign(id);
+        guard.write(Publisher.META, () -> client.deleteCampaign(id));
+        cache.invalidate(Publisher.META, EntityType.CAMPAIGNS);
+    }
+
+    @Override
+    public List<Group> getGroups(String customerId, String campaignId, String status, String nameContains) {
+        List<Group> groups = cache.get(EntityType.GROUPS, CacheKey.of(Publisher.META, "getGroups", customerId, campaignId),
+                () -> guard.read(Publisher.META, customerId, () -> client.getGroups(customerId, campaignId)));
+        if (EntityFilters.isUnfiltered(status, nameContains)) {
+            return groups;
+        }
+        return EntityFilters.apply(groups, EntityFilters.groups(status, nameContains));
     }
 
     @Override
-    public List<Group> getGroups(String customerId, String campaignId) {
-        return client.getGroups(customerId, campaignId);
+    public Page<Group> getGroupsPage(String customerId, String campaignId, String status, String nameContains, Integer pageSize, String pageToken) {
+        return pageSnapshots.page(CacheKey.of(Publisher.META, "getGroups", customerId, campaignId, status, nameContains),
+                pageSize, pageToken, () -> getGroups(customerId, campaignId, status, nameContains));
     }
 
     @Override
     public Group getGroup(String id) {
-        return client.getGroup(id);
+        return guard.read(Publisher.META, () -> client.getGroup(id));
     }
 
     @Override
     public Group createGroup(Group group) {
         group.setPublisher("META");
-        return client.createGroup(group);
+        Group created = guard.write(Publisher.META, () -> client.createGroup(group));
+        cache.invalidate(Publisher.META, EntityType.GROUPS);
+        return created;
     }
 
     @Override
     public Group updateGroup(String id, Group group) {
         group.setPublisher("META");
-        return client.updateGroup(id, group);
+        Group updated = guard.write(Publisher.META, () -> client.updateGroup(id, group));
+        cache.invalidate(Publisher.META, EntityType.GROUPS);
+        return updated;
     }
 
     @Override
     public void deleteGroup(String id) {
-        client.deleteGroup(id);
+        guard.write(Publisher.META, () -> client.deleteGroup(id));
+        cache.invalidate(Publisher.META, EntityType.GROUPS);
+    }
+
+    @Override
+    public List<Ads> getAds(String customerId, String adGroupId, String status, String textContains) {
+        List<Ads> ads = cache.get(EntityType.ADS, CacheKey.of(Publisher.META, "getAds", customerId, adGroupId),
+                () -> guard.read(Publisher.META, customerId, () -> client.getAds(customerId, adGroupId)));
+        if (EntityFilters.isUnfiltered(status, textContains)) {
+            return ads;
+        }
+        return EntityFilters.apply(ads, EntityFilters.ads(status, textContains));
     }
 
     @Override
-    public List<Ads> getAds(String customerId, String adGroupId) {
-        return client.getAds(customerId, adGroupId);
+    public Page<Ads> getAdsPage(String customerId, String adGroupId, String status, String textContains, Integer pageSize, String pageToken) {
+        return pageSnapshots.page(CacheKey.of(Publisher.META, "getAds", customerId, adGroupId, status, textContains),
+                pageSize, pageToken, () -> getAds(customerId, adGroupId, status, textContains));
+    }
+
+    @Override
+    public Stream<Ads> streamAds(String customerId, String adGroupId, String status, String textContains) {
+        return guard.readStream(Publisher.META, customerId, () -> streamReader.stream(client.streamAds(customerId, adGroupId), null, Ads.class))
+                .filter(EntityFilters.ads(status, textContains));
     }
 
     @Override
     public Ads getAd(String id) {
-        return client.getAd(id);
+        return guard.read(Publisher.META, () -> client.getAd(id));
     }
 
     @Override
     public Ads createAd(Ads ads) {
         ads.setPublisher("META");
-        return client.createAd(ads);
+        Ads created = guard.write(Publisher.META, () -> client.createAd(ads));
+        cache.invalidate(Publisher.META, EntityType.ADS);
+        return created;
     }
 
     @Override
     public Ads updateAd(String id, Ads ads) {
         ads.setPublisher("META");
-        return client.updateAd(id, ads);
+        Ads updated = guard.write(Publisher.META, () -> client.updateAd(id, ads));
+        cache.invalidate(Publisher.META, EntityType.ADS);
+        return updated;
     }
 
     @Override
     public void deleteAd(String id) {
-        client.deleteAd(id);
+        guard.write(Publisher.META, () -> client.deleteAd(id));
+        cache.invalidate(Publisher.META, EntityType.ADS);
     }
 
     @Override
@@ -127,6 +208,16 @@ public class MetaPublisherService implements PublisherService {
         throw new UnsupportedOperationException("Meta PubGateway API does not support keywords endpoint");
     }
 
+    @Override
+    public Page<Keyword> getKeywordsPage(String customerId, String adGroupId, String status, String matchType, String textContains, Integer pageSize, String pageToken) {
+        throw new UnsupportedOperationException("Meta PubGateway API does not support keywords endpoint");
+    }
+
+    @Override
+    public Stream<Keyword> streamKeywords(String customerId, String adGroupId, String status, String matchType, String textContains) {
+        throw new UnsupportedOperationException("Meta PubGateway API does not support keywords endpoint");
+    }
+
     @Override
     public Keyword getKeyword(String id) {
         throw new UnsupportedOperationException("Meta PubGateway API does not support keywords endpoint");
@@ -5,8 +5,10 @@ import com.pubgateway.dispatcher.model.Ads;
 import com.pubgateway.dispatcher.model.Campaign;
 import com.pubgateway.dispatcher.model.Group;
 import com.pubgateway.dispatcher.model.Keyword;
+import com.pubgateway.dispatcher.model.response.Page;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PublisherService {
     // Account operations
@@ -14,23 +16,29 @@ public interface PublisherService {
     Account createAccount(Account account);
     Account updateAccount(String id, Account account);
     void deleteAccount(String id);
+    List<Account> getSubAccounts(String id);
+    List<Account> getAccountSubtree(String id, Integer maxDepth);
 
     // Campaign operations
-    List<Campaign> getCampaigns(String accountId);
+    List<Campaign> getCampaigns(String accountId, String status, String nameContains, String channelType, String startDateFrom, String startDateTo);
+    Page<Campaign> getCampaignsPage(String accountId, String status, String nameContains, String channelType, String startDateFrom, String startDateTo, Integer pageSize, String pageToken);
     Campaign getCampaign(String id);
     Campaign createCampaign(Campaign campaign);
     Campaign updateCampaign(String id, Campaign campaign);
     void deleteCampaign(String id);
 
     // Group operations
-    List<Group> getGroups(String customerId, String campaignId);
+    List<Group> getGroups(String customerId, String campaignId, String status, String nameContains);
+    Page<Group> getGroupsPage(String customerId, String campaignId, String status, String nameContains, Integer pageSize, String pageToken);
     Group getGroup(String id);
     Group createGroup(Group group);
     Group updateGroup(String id, Group group);
     void deleteGroup(String id);
 
     // Ads operations
-    List<Ads> getAds(String customerId, String adGroupId);
+    List<Ads> getAds(String customerId, String adGroupId, String status, String textContains);
+    Page<Ads> getAdsPage(String customerId, String adGroupId, String status, String textContains, Integer pageSize, String pageToken);
+    Stream<Ads> streamAds(String customerId, String adGroupId, String status, String textContains);
     Ads getAd(String id);
     Ads createAd(Ads ads);
     Ads updateAd(String id, Ads ads);
@@ -38,6 +46,8 @@ public interface PublisherService {
 
     // Keyword operations
     List<Keyword> getKeywords(String customerId, String adGroupId, String status, String matchType, String textContains);
+    Page<Keyword> getKeywordsPage(String customerId, String adGroupId, String status, String matchType, String textContains, Integer pageSize, String pageToken);
+    Stream<Keyword> streamKeywords(String customerId, String adGroupId, String status, String matchType, String textContains);
     Keyword getKeyword(String id);
     Keyword createKeyword(Keyword keyword);
     Keyword updateKeyword(String id, Keyword keyword);
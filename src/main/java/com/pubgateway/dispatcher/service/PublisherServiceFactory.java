@@ -1,23 +1,26 @@
 package com.pubgateway.dispatcher.service;
 
-import com.pubgateway.dispatcher.client.GooglePubGatewayClient;
-import com.pubgateway.dispatcher.client.MetaPubGatewayClient;
 import com.pubgateway.dispatcher.enumeration.Publisher;
-import lombok.RequiredArgsConstructor;
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import com.pubgateway.dispatcher.metrics.TimedPublisherService;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Component
-@RequiredArgsConstructor
 public class PublisherServiceFactory {
 
-    private final GooglePubGatewayClient googleClient;
-    private final MetaPubGatewayClient metaClient;
+    private final Map<Publisher, PublisherService> services = new EnumMap<>(Publisher.class);
+
+    public PublisherServiceFactory(GooglePublisherService googleService,
+                                   MetaPublisherService metaService,
+                                   DispatcherMetrics metrics) {
+        services.put(Publisher.GOOGLE, TimedPublisherService.wrap(Publisher.GOOGLE, googleService, metrics));
+        services.put(Publisher.META, TimedPublisherService.wrap(Publisher.META, metaService, metrics));
+    }
 
     public PublisherService getService(Publisher publisher) {
-        return switch (publisher) {
-            case GOOGLE -> new GooglePublisherService(googleClient);
-            case META -> new MetaPublisherService(metaClient);
-        };
+        return services.get(publisher);
     }
 }
-
@@ -0,0 +1,126 @@
+package com.pubgateway.dispatcher.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pubgateway.dispatcher.json.RawJsonSupport;
+import com.pubgateway.dispatcher.json.SparseFields;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Strong ETags and {@code If-None-Match} for unpaged list responses.
+ * <p>
+ * The ETag is a SHA-256 of the JSON the response would contain, computed by serializing straight
+ * into the digest, with no buffer. Cached lists are shared by identity, so the ETag is remembered
+ * per list instance (and per {@code includeRaw}/{@code fields} variant): while a list stays cached,
+ * polls are answered from the remembered hash and a matching {@code If-None-Match} gets a
+ * {@code 304} without the list being serialized at all.
+ */
+@Component
+public class ConditionalResponses {
+
+    private final ObjectWriter writer;
+    private final Cache<List<?>, Map<String, String>> etags = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(10_000)
+            .build();
+
+    public ConditionalResponses(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer();
+    }
+
+    public <T> ResponseEntity<List<T>> of(List<T> items) {
+        String etag = etag(items);
+        if (matches(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(items);
+    }
+
+    private String etag(List<?> items) {
+        String accept = currentAccept();
+        String variant = RawJsonSupport.includeRaw() + "|" + selectedFields() + "|" + accept;
+        return etags.get(items, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(variant, key -> hash(items, accept));
+    }
+
+    /**
+     * The JSON content, plus the Accept header that picks between JSON, Smile and CBOR: each
+     * representation needs its own strong ETag.
+     */
+    private String hash(List<?> items, String accept) {
+        MessageDigest digest = sha256();
+        digest.update(accept.getBytes(StandardCharsets.UTF_8));
+        try (DigestOutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            TimedJacksonHttpMessageConverter.customize(writer).writeValue(out, items);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 16)) + "\"";
+    }
+
+    private static String selectedFields() {
+        SparseFields.Selection selection = SparseFields.current();
+        return selection == null ? "" : String.join(",", selection.fields().stream().sorted().toList());
+    }
+
+    private static String currentAccept() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String accept = attributes.getRequest().getHeader(HttpHeaders.ACCEPT);
+            return accept != null ? accept : "";
+        }
+        return "";
+    }
+
+    /**
+     * {@code If-None-Match} uses weak comparison, so {@code W/} prefixes are ignored.
+     */
+    private static boolean matches(String etag) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
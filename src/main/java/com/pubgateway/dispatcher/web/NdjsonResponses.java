@@ -0,0 +1,56 @@
+package com.pubgateway.dispatcher.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.stream.Stream;
+
+/**
+ * Writes a lazily decoded entity stream to the client as newline-delimited JSON,
+ * one entity per line, as the entities arrive from the plugin.
+ */
+@Slf4j
+@Component
+public class NdjsonResponses {
+
+    private final ObjectWriter writer;
+    private final DispatcherMetrics metrics;
+
+    public NdjsonResponses(ObjectMapper objectMapper, DispatcherMetrics metrics) {
+        this.writer = objectMapper.writer();
+        this.metrics = metrics;
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> of(Stream<T> items) {
+        // The body is written on an async thread, so the route is captured here
+        String uri = DispatcherMetrics.currentUri();
+        ObjectWriter writer = TimedJacksonHttpMessageConverter.customize(this.writer);
+        StreamingResponseBody body = out -> {
+            long count = 0;
+            long serializationNanos = 0;
+            try (Stream<T> stream = items) {
+                for (T item : (Iterable<T>) stream::iterator) {
+                    long start = System.nanoTime();
+                    byte[] line = writer.writeValueAsBytes(item);
+                    serializationNanos += System.nanoTime() - start;
+                    out.write(line);
+                    out.write('\n');
+                    count++;
+                }
+            } finally {
+                metrics.recordSerialization(uri, "ndjson", serializationNanos);
+            }
+            out.flush();
+            log.debug("Streamed {} entities as NDJSON", count);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
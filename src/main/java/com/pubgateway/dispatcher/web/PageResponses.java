@@ -0,0 +1,30 @@
+package com.pubgateway.dispatcher.web;
+
+import com.pubgateway.dispatcher.model.response.Page;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Paged list responses keep the plain array body of the unpaged endpoints and carry the
+ * continuation in a response header; an absent header means the last page was returned.
+ */
+public final class PageResponses {
+
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+
+    private PageResponses() {
+    }
+
+    public static boolean isPaged(Integer pageSize, String pageToken) {
+        return pageSize != null || (pageToken != null && !pageToken.isEmpty());
+    }
+
+    public static <T> ResponseEntity<List<T>> of(Page<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextPageToken() != null) {
+            builder.header(NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+        }
+        return builder.body(page.getItems());
+    }
+}
@@ -0,0 +1,49 @@
+package com.pubgateway.dispatcher.web;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * CBOR counterpart of {@link TimedJacksonHttpMessageConverter}, negotiated through {@code Accept}.
+ */
+public class TimedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final DispatcherMetrics metrics;
+
+    public TimedCborHttpMessageConverter(ObjectMapper objectMapper, DispatcherMetrics metrics) {
+        super(objectMapper);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable JavaType javaType,
+                                           @Nullable MediaType contentType) {
+        return TimedJacksonHttpMessageConverter.customize(writer);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(outputMessage instanceof ServerHttpResponse)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            metrics.recordSerialization(DispatcherMetrics.currentUri(), "cbor", System.nanoTime() - start);
+        }
+    }
+}
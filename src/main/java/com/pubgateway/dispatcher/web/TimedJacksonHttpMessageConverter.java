@@ -0,0 +1,66 @@
+package com.pubgateway.dispatcher.web;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pubgateway.dispatcher.json.RawJsonSupport;
+import com.pubgateway.dispatcher.json.SparseFields;
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Boot's JSON converter, with response body serialization timed per route. Feign also reads
+ * plugin responses through it; that side is timed by {@code TimedDecoder}.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final DispatcherMetrics metrics;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, DispatcherMetrics metrics) {
+        super(objectMapper);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Marks the writer as producing a response (see {@link RawJsonSupport#RESPONSE_ATTRIBUTE}) and applies
+     * {@code ?includeRaw=false} and {@code ?fields=} to it.
+     */
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable JavaType javaType,
+                                           @Nullable MediaType contentType) {
+        return customize(writer);
+    }
+
+    static ObjectWriter customize(ObjectWriter writer) {
+        writer = writer.withAttribute(RawJsonSupport.RESPONSE_ATTRIBUTE, Boolean.TRUE);
+        if (!RawJsonSupport.includeRaw()) {
+            writer = writer.withAttribute(RawJsonSupport.INCLUDE_RAW_ATTRIBUTE, Boolean.FALSE);
+        }
+        SparseFields.Selection selection = SparseFields.current();
+        return selection == null ? writer : writer.with(selection.filters());
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(outputMessage instanceof ServerHttpResponse)) {
+            // Not a dispatcher response, e.g. a request body written by an HTTP client
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            metrics.recordSerialization(DispatcherMetrics.currentUri(), "json", System.nanoTime() - start);
+        }
+    }
+}
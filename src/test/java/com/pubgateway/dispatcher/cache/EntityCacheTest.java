@@ -0,0 +1,142 @@
+package com.pubgateway.dispatcher.cache;
+
+import com.pubgateway.dispatcher.config.CacheProperties;
+import com.pubgateway.dispatcher.enumeration.EntityType;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityCacheTest {
+
+    private static final CacheKey KEY = CacheKey.of(Publisher.META, "getCampaigns", "1");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesHitsWithoutCallingTheLoader() {
+        EntityCache cache = cache(true);
+
+        List<String> first = cache.get(EntityType.CAMPAIGNS, KEY, this::load);
+        List<String> second = cache.get(EntityType.CAMPAIGNS, KEY, this::load);
+
+        assertThat(second).isSameAs(first).containsExactly("campaign-1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void loadsEachKeySeparately() {
+        EntityCache cache = cache(true);
+
+        cache.get(EntityType.CAMPAIGNS, KEY, this::load);
+        cache.get(EntityType.CAMPAIGNS, CacheKey.of(Publisher.META, "getCampaigns", "2"), this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void reloadsAfterInvalidate() {
+        EntityCache cache = cache(true);
+        cache.get(EntityType.CAMPAIGNS, KEY, this::load);
+
+        cache.invalidate(Publisher.META, EntityType.CAMPAIGNS);
+        List<String> reloaded = cache.get(EntityType.CAMPAIGNS, KEY, this::load);
+
+        assertThat(reloaded).containsExactly("campaign-2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateOnlyDropsThatPublisherAndType() {
+        EntityCache cache = cache(true);
+        CacheKey google = CacheKey.of(Publisher.GOOGLE, "getCampaigns", "1");
+        CacheKey groups = CacheKey.of(Publisher.META, "getGroups", "1");
+        cache.get(EntityType.CAMPAIGNS, google, this::load);
+        cache.get(EntityType.GROUPS, groups, this::load);
+
+        cache.invalidate(Publisher.META, EntityType.CAMPAIGNS);
+        cache.get(EntityType.CAMPAIGNS, google, this::load);
+        cache.get(EntityType.GROUPS, groups, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void doesNotKeepAListWhoseLoadOverlappedAnInvalidate() {
+        EntityCache cache = cache(true);
+
+        List<String> stale = cache.get(EntityType.CAMPAIGNS, KEY, () -> {
+            cache.invalidate(Publisher.META, EntityType.CAMPAIGNS);
+            return load();
+        });
+        List<String> next = cache.get(EntityType.CAMPAIGNS, KEY, this::load);
+
+        assertThat(stale).containsExactly("campaign-1");
+        assertThat(next).containsExactly("campaign-2");
+    }
+
+    @Test
+    void coalescesConcurrentMissesWhenEnabled() throws Exception {
+        assertCoalesced(cache(true));
+    }
+
+    @Test
+    void coalescesConcurrentMissesWhenDisabled() throws Exception {
+        EntityCache cache = cache(false);
+        assertCoalesced(cache);
+
+        cache.get(EntityType.CAMPAIGNS, KEY, this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    private void assertCoalesced(EntityCache cache) throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<List<String>> leader = executor.submit(() -> cache.get(EntityType.CAMPAIGNS, KEY, () -> {
+                loading.countDown();
+                await(release);
+                return load();
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<List<String>> follower = executor.submit(() -> cache.get(EntityType.CAMPAIGNS, KEY, this::load));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).containsExactly("campaign-1");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).containsExactly("campaign-1");
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> load() {
+        return List.of("campaign-" + loads.incrementAndGet());
+    }
+
+    private EntityCache cache(boolean enabled) {
+        CacheProperties properties = new CacheProperties();
+        properties.setEnabled(enabled);
+        return new EntityCache(properties, new SingleFlight(registry, 5_000), registry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
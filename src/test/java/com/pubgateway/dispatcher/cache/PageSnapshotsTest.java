@@ -0,0 +1,92 @@
+package com.pubgateway.dispatcher.cache;
+
+import com.pubgateway.dispatcher.config.PagingProperties;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.InvalidRequestException;
+import com.pubgateway.dispatcher.model.response.Page;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageSnapshotsTest {
+
+    private static final CacheKey QUERY = CacheKey.of(Publisher.META, "getCampaigns", "1", "ENABLED");
+    private static final List<Integer> ITEMS = IntStream.range(0, 5).boxed().toList();
+
+    private final PageSnapshots pageSnapshots = new PageSnapshots(new PagingProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void walksTheSnapshotWithoutCallingTheSourceAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        Page<Integer> first = pageSnapshots.page(QUERY, 2, null, () -> {
+            calls.incrementAndGet();
+            return ITEMS;
+        });
+        Page<Integer> second = pageSnapshots.page(QUERY, 2, first.getNextPageToken(), List::of);
+        Page<Integer> last = pageSnapshots.page(QUERY, 2, second.getNextPageToken(), List::of);
+
+        assertThat(first.getItems()).containsExactly(0, 1);
+        assertThat(second.getItems()).containsExactly(2, 3);
+        assertThat(last.getItems()).containsExactly(4);
+        assertThat(last.getNextPageToken()).isNull();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void returnsSmallListsWithoutToken() {
+        Page<Integer> page = pageSnapshots.page(QUERY, 10, null, () -> ITEMS);
+
+        assertThat(page.getItems()).isEqualTo(ITEMS);
+        assertThat(page.getNextPageToken()).isNull();
+    }
+
+    @Test
+    void snapshotIsDroppedAfterTheLastPage() {
+        Page<Integer> first = pageSnapshots.page(QUERY, 3, null, () -> ITEMS);
+        pageSnapshots.page(QUERY, 3, first.getNextPageToken(), List::of);
+
+        assertThatThrownBy(() -> pageSnapshots.page(QUERY, 3, first.getNextPageToken(), List::of))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void rejectsTokensOfAnotherQuery() {
+        String token = pageSnapshots.page(QUERY, 2, null, () -> ITEMS).getNextPageToken();
+        CacheKey otherCustomer = CacheKey.of(Publisher.META, "getCampaigns", "2", "ENABLED");
+        CacheKey otherFilter = CacheKey.of(Publisher.META, "getCampaigns", "1", "PAUSED");
+
+        assertThatThrownBy(() -> pageSnapshots.page(otherCustomer, 2, token, List::of))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> pageSnapshots.page(otherFilter, 2, token, List::of))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String token = pageSnapshots.page(QUERY, 2, null, () -> ITEMS).getNextPageToken();
+        String snapshotId = token.substring("dsp_".length(), token.lastIndexOf('_'));
+
+        for (String malformed : List.of("dsp_", "dsp__2", "dsp_x", "dsp_x_-5", "dsp_x_abc", "other",
+                "dsp_" + snapshotId + "_-1", "dsp_" + snapshotId + "_6", "dsp_" + snapshotId + "_")) {
+            assertThatThrownBy(() -> pageSnapshots.page(QUERY, 2, malformed, List::of))
+                    .as(malformed)
+                    .isInstanceOf(InvalidRequestException.class);
+        }
+    }
+
+    @Test
+    void rejectsPageSizesOutOfRange() {
+        assertThatThrownBy(() -> pageSnapshots.page(QUERY, 0, null, () -> ITEMS))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> pageSnapshots.page(QUERY, 5001, null, () -> ITEMS))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
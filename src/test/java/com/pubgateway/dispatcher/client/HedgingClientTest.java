@@ -0,0 +1,243 @@
+package com.pubgateway.dispatcher.client;
+
+import com.pubgateway.dispatcher.config.HedgingProperties;
+import com.pubgateway.dispatcher.config.HttpClientProperties;
+import com.pubgateway.dispatcher.config.LoadBalancingProperties;
+import com.pubgateway.dispatcher.config.RateLimitProperties;
+import com.pubgateway.dispatcher.config.ResilienceProperties;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.loadbalancer.InstanceStats;
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import com.pubgateway.dispatcher.resilience.AdaptiveRateLimiter;
+import com.pubgateway.dispatcher.resilience.PluginGuard;
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HedgingClientTest {
+
+    private static final String PLUGIN = "google-pubgateway-plugin";
+
+    private final PluginHttpClients delegate = mock(PluginHttpClients.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InstanceStats instanceStats = new InstanceStats(new LoadBalancingProperties());
+    private final ResilienceProperties resilienceProperties = new ResilienceProperties();
+    private final RateLimitProperties rateLimitProperties = new RateLimitProperties();
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private PluginGuard guard;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    void hedgeWinsWhenThePrimaryFails() throws IOException {
+        HedgingClient client = client(delegate, instance("primary", 8080), instance("hedge", 8080));
+        answer("primary", 60, 503);
+        answer("hedge", 120, 200);
+
+        assertThat(execute(client, "http://primary:8080").status()).isEqualTo(200);
+        assertThat(registry.get("dispatcher.hedge.won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void throttledHedgeDoesNotBeatASlowSuccess() throws IOException {
+        HedgingClient client = client(delegate, instance("primary", 8080), instance("hedge", 8080));
+        answer("primary", 120, 200);
+        answer("hedge", 0, 429);
+
+        assertThat(execute(client, "http://primary:8080").status()).isEqualTo(200);
+        assertThat(registry.get("dispatcher.hedge.won").counter().count()).isZero();
+    }
+
+    @Test
+    void returnsAFailedResponseWhenBothAttemptsFail() throws IOException {
+        HedgingClient client = client(delegate, instance("primary", 8080), instance("hedge", 8080));
+        answer("primary", 100, 503);
+        answer("hedge", 0, 500);
+
+        assertThat(execute(client, "http://primary:8080").status()).isIn(500, 503);
+    }
+
+    @Test
+    void returnsAFailedResponseWhenTheOtherAttemptThrows() throws IOException {
+        HedgingClient client = client(delegate, instance("primary", 8080), instance("hedge", 8080));
+        answer("primary", 100, 503);
+        doThrow(new IOException("connection refused")).when(delegate).execute(to("hedge"), any());
+
+        assertThat(execute(client, "http://primary:8080").status()).isEqualTo(503);
+    }
+
+    @Test
+    void hedgesToTheBestScoringOtherInstance() throws IOException {
+        HedgingClient client = client(delegate,
+                instance("primary", 8080), instance("slow", 8080), instance("fast", 8080));
+        instanceStats.onStart(PLUGIN, "slow:8080");
+        instanceStats.onComplete(PLUGIN, "slow:8080", TimeUnit.SECONDS.toNanos(1), false);
+        answer("primary", 100, 200);
+        answer("slow", 0, 200);
+        answer("fast", 0, 200);
+
+        assertThat(execute(client, "http://primary:8080").request().url()).startsWith("http://fast");
+        verify(delegate, never()).execute(to("slow"), any());
+    }
+
+    @Test
+    void doesNotHedgeWithoutRoomInTheBulkhead() throws IOException {
+        resilienceProperties.getDefaults().setMaxConcurrentCalls(1);
+        HedgingClient client = client(delegate, instance("primary", 8080), instance("hedge", 8080));
+        answer("primary", 100, 200);
+        answer("hedge", 0, 200);
+
+        assertThat(execute(client, "http://primary:8080").request().url()).startsWith("http://primary");
+        verify(delegate, never()).execute(to("hedge"), any());
+        assertThat(registry.get("dispatcher.hedge.guard.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotHedgeWithoutARateLimitToken() throws IOException {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setRate(1);
+        limit.setBurst(1);
+        rateLimitProperties.setDefaults(limit);
+        HedgingClient client = client(delegate, instance("primary", 8080), instance("hedge", 8080));
+        answer("primary", 100, 200);
+        answer("hedge", 0, 200);
+
+        assertThat(execute(client, "http://primary:8080").request().url()).startsWith("http://primary");
+        verify(delegate, never()).execute(to("hedge"), any());
+        assertThat(registry.get("dispatcher.hedge.guard.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsLatencyAgainstTheInstanceThatAnswered() throws Exception {
+        HttpServer slow = stub(300);
+        HttpServer fast = stub(0);
+        PluginHttpClients transport = new PluginHttpClients(new HttpClientProperties(), registry,
+                new DispatcherMetrics(registry), instanceStats);
+        resources.add(transport::destroy);
+        HedgingClient client = client(transport,
+                instance("127.0.0.1", slow.getAddress().getPort()), instance("127.0.0.1", fast.getAddress().getPort()));
+
+        try (Response response = execute(client, "http://127.0.0.1:" + slow.getAddress().getPort())) {
+            assertThat(response.status()).isEqualTo(200);
+            assertThat(response.request().url()).contains(":" + fast.getAddress().getPort() + "/");
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (samples() < 2 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Map<String, Double> latencies = new HashMap<>();
+        instanceStats.snapshot().get(PLUGIN).forEach(score -> latencies.put(score.instance(), score.latencyMs()));
+        assertThat(latencies.get("127.0.0.1:" + slow.getAddress().getPort())).isGreaterThanOrEqualTo(300);
+        assertThat(latencies.get("127.0.0.1:" + fast.getAddress().getPort())).isLessThan(300);
+    }
+
+    private HedgingClient client(PluginHttpClients transport, ServiceInstance... instances) {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setInitialDelay(Duration.ofMillis(20));
+        properties.setBudgetRatio(1);
+        LoadBalancerClientFactory loadBalancerClientFactory = mock(LoadBalancerClientFactory.class);
+        when(loadBalancerClientFactory.getInstance(PLUGIN, ServiceInstanceListSupplier.class))
+                .thenReturn(ServiceInstanceListSuppliers.from(PLUGIN, instances));
+        guard = new PluginGuard(resilienceProperties, new AdaptiveRateLimiter(rateLimitProperties, registry), registry);
+        HedgingClient client = new HedgingClient(transport, loadBalancerClientFactory, instanceStats, guard,
+                properties, registry);
+        resources.add(client::destroy);
+        return client;
+    }
+
+    private long samples() {
+        return instanceStats.snapshot().getOrDefault(PLUGIN, List.of()).stream()
+                .mapToLong(InstanceStats.InstanceScore::samples)
+                .sum();
+    }
+
+    private HttpServer stub(long delayMillis) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        resources.add(() -> server.stop(0));
+        return server;
+    }
+
+    private void answer(String host, long delayMillis, int status) throws IOException {
+        doAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(delayMillis);
+            return Response.builder()
+                    .status(status)
+                    .request(invocation.getArgument(0))
+                    .headers(Map.of())
+                    .body(new byte[0])
+                    .build();
+        }).when(delegate).execute(to(host), any());
+    }
+
+    private static Request to(String host) {
+        return argThat(request -> request != null && request.url().startsWith("http://" + host));
+    }
+
+    private static ServiceInstance instance(String host, int port) {
+        return new DefaultServiceInstance(host + ":" + port, PLUGIN, host, port, false);
+    }
+
+    /**
+     * Executes the request the way the services do, inside a guarded call.
+     */
+    private Response execute(HedgingClient client, String baseUrl) {
+        RequestTemplate template = new RequestTemplate();
+        template.feignTarget(new Target.HardCodedTarget<>(Object.class, PLUGIN, baseUrl));
+        Request request = Request.create(Request.HttpMethod.GET, baseUrl + "/api/v1/campaigns?customerId=1",
+                Map.of(), null, StandardCharsets.UTF_8, template);
+        return guard.read(Publisher.GOOGLE, "1", () -> {
+            try {
+                return client.execute(request, new Request.Options());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.pubgateway.dispatcher.controller;
+
+import com.pubgateway.dispatcher.cache.EntityCache;
+import com.pubgateway.dispatcher.cache.EntityIndex;
+import com.pubgateway.dispatcher.cache.PageSnapshots;
+import com.pubgateway.dispatcher.cache.SingleFlight;
+import com.pubgateway.dispatcher.client.GooglePubGatewayClient;
+import com.pubgateway.dispatcher.client.ResponseStreamReader;
+import com.pubgateway.dispatcher.config.AccountHierarchyProperties;
+import com.pubgateway.dispatcher.config.PagingProperties;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.resilience.PluginGuard;
+import com.pubgateway.dispatcher.service.AccountTreeService;
+import com.pubgateway.dispatcher.service.GoogleAccountHierarchy;
+import com.pubgateway.dispatcher.service.GooglePublisherService;
+import com.pubgateway.dispatcher.service.PublisherService;
+import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import com.pubgateway.dispatcher.web.WebTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AccountControllerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final PublisherService service = mock(PublisherService.class);
+    private final PublisherServiceFactory serviceFactory = mock(PublisherServiceFactory.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(serviceFactory.getService(any())).thenReturn(service);
+        AccountTreeService treeService = new AccountTreeService(serviceFactory, executor, 4, Duration.ofSeconds(5));
+        mockMvc = WebTestSupport.mockMvc(new AccountController(serviceFactory, treeService), WebTestSupport.objectMapper());
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rejectsTreeDepthOutOfRangeWithTheReason() throws Exception {
+        mockMvc.perform(get("/api/v1/publishers/google/accounts/1/tree").param("depth", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("depth must be between 0 and 4"));
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void rejectsUnknownPublishers() throws Exception {
+        mockMvc.perform(get("/api/v1/publishers/bing/accounts/1/tree"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsGoogleAccountIdsThatAreNotNumbers() throws Exception {
+        GooglePubGatewayClient client = mock(GooglePubGatewayClient.class);
+        GoogleAccountHierarchy hierarchy = new GoogleAccountHierarchy(client, mock(SingleFlight.class),
+                mock(PluginGuard.class), new AccountHierarchyProperties(), new SimpleMeterRegistry());
+        when(serviceFactory.getService(Publisher.GOOGLE)).thenReturn(new GooglePublisherService(client,
+                mock(EntityCache.class), mock(EntityIndex.class), hierarchy, mock(ResponseStreamReader.class),
+                mock(PageSnapshots.class), new PagingProperties(), mock(PluginGuard.class)));
+
+        mockMvc.perform(get("/api/v1/publishers/google/accounts/abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid Google id 'abc', expected a number"));
+        verifyNoInteractions(client);
+    }
+}
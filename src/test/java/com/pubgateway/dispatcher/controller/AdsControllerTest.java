@@ -0,0 +1,98 @@
+package com.pubgateway.dispatcher.controller;
+
+import com.pubgateway.dispatcher.cache.CacheKey;
+import com.pubgateway.dispatcher.cache.EntityCache;
+import com.pubgateway.dispatcher.cache.EntityIndex;
+import com.pubgateway.dispatcher.cache.PageSnapshots;
+import com.pubgateway.dispatcher.client.GooglePubGatewayClient;
+import com.pubgateway.dispatcher.client.ResponseStreamReader;
+import com.pubgateway.dispatcher.config.PagingProperties;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.resilience.PluginGuard;
+import com.pubgateway.dispatcher.service.CustomerFanOutService;
+import com.pubgateway.dispatcher.service.GoogleAccountHierarchy;
+import com.pubgateway.dispatcher.service.GooglePassthroughService;
+import com.pubgateway.dispatcher.service.GooglePublisherService;
+import com.pubgateway.dispatcher.service.PublisherService;
+import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import com.pubgateway.dispatcher.web.ConditionalResponses;
+import com.pubgateway.dispatcher.web.NdjsonResponses;
+import com.pubgateway.dispatcher.web.WebTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdsControllerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final PublisherService meta = mock(PublisherService.class);
+    private final GooglePubGatewayClient googleClient = mock(GooglePubGatewayClient.class);
+    private final PageSnapshots pageSnapshots = new PageSnapshots(new PagingProperties(), new SimpleMeterRegistry());
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        GooglePublisherService google = new GooglePublisherService(googleClient, mock(EntityCache.class),
+                mock(EntityIndex.class), mock(GoogleAccountHierarchy.class), mock(ResponseStreamReader.class),
+                pageSnapshots, new PagingProperties(), mock(PluginGuard.class));
+        PublisherServiceFactory serviceFactory = mock(PublisherServiceFactory.class);
+        when(serviceFactory.getService(Publisher.GOOGLE)).thenReturn(google);
+        when(serviceFactory.getService(Publisher.META)).thenReturn(meta);
+        AdsController controller = new AdsController(serviceFactory, mock(NdjsonResponses.class),
+                mock(GooglePassthroughService.class), mock(ConditionalResponses.class),
+                new CustomerFanOutService(serviceFactory, executor, 2, 5));
+        mockMvc = WebTestSupport.mockMvc(controller, WebTestSupport.objectMapper());
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rejectsPageSizesOutOfRangeWithTheReason() throws Exception {
+        CacheKey query = CacheKey.of(Publisher.META, "getAds", "1");
+        when(meta.getAdsPage(eq("1"), any(), any(), any(), any(), any())).thenAnswer(invocation ->
+                pageSnapshots.page(query, invocation.getArgument(4), invocation.getArgument(5), List::of));
+
+        mockMvc.perform(get("/api/v1/publishers/meta/ads").param("accountId", "1").param("pageSize", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("pageSize must be between 1 and 5000"));
+        mockMvc.perform(get("/api/v1/publishers/meta/ads").param("accountId", "1").param("pageToken", "dsp_x_2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Page token expired, restart from the first page"));
+    }
+
+    @Test
+    void rejectsFanOutWithoutCustomersWithTheReason() throws Exception {
+        mockMvc.perform(get("/api/v1/publishers/meta/ads/fan-out").param("customerIds", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("At least one customerId or a managerId with client accounts is required"));
+        mockMvc.perform(get("/api/v1/publishers/meta/ads/fan-out").param("customerIds", "1,2,3,4,5,6"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Fan-out must not cover more than 5 customers"));
+    }
+
+    @Test
+    void rejectsGoogleIdsThatAreNotNumbers() throws Exception {
+        mockMvc.perform(get("/api/v1/publishers/google/ads/abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid Google id 'abc', expected a number"));
+        verifyNoInteractions(googleClient);
+    }
+}
@@ -0,0 +1,86 @@
+package com.pubgateway.dispatcher.controller;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.PublisherUnavailableException;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.service.FanOutService;
+import com.pubgateway.dispatcher.service.PublisherService;
+import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import com.pubgateway.dispatcher.web.WebTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AggregateControllerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final PublisherService google = mock(PublisherService.class);
+    private final PublisherService meta = mock(PublisherService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        PublisherServiceFactory serviceFactory = mock(PublisherServiceFactory.class);
+        when(serviceFactory.getService(Publisher.GOOGLE)).thenReturn(google);
+        when(serviceFactory.getService(Publisher.META)).thenReturn(meta);
+        FanOutService fanOutService = new FanOutService(serviceFactory, executor, Duration.ofSeconds(5));
+        mockMvc = WebTestSupport.mockMvc(new AggregateController(fanOutService), WebTestSupport.objectMapper());
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void mergesPublishersAndReportsEachOutcome() throws Exception {
+        when(google.getCampaigns("1", null, null, null, null, null)).thenReturn(List.of(campaign(10L), campaign(11L)));
+        when(meta.getCampaigns("1", null, null, null, null, null))
+                .thenThrow(new PublisherUnavailableException(Publisher.META, "circuit open", null));
+
+        mockMvc.perform(get("/api/v1/campaigns").param("accountId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.publishers.GOOGLE.status").value("OK"))
+                .andExpect(jsonPath("$.publishers.GOOGLE.count").value(2))
+                .andExpect(jsonPath("$.publishers.META.status").value("FAILED"))
+                .andExpect(jsonPath("$.publishers.META.error").exists());
+    }
+
+    @Test
+    void queriesOnlyTheSelectedPublishers() throws Exception {
+        when(google.getCampaigns("1", null, null, null, null, null)).thenReturn(List.of(campaign(10L)));
+
+        mockMvc.perform(get("/api/v1/campaigns").param("accountId", "1").param("publishers", "google"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.publishers.GOOGLE.status").value("OK"))
+                .andExpect(jsonPath("$.publishers.META").doesNotExist());
+        verifyNoInteractions(meta);
+    }
+
+    @Test
+    void rejectsCampaignsWithoutAccountId() throws Exception {
+        mockMvc.perform(get("/api/v1/campaigns"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(google, meta);
+    }
+
+    private static Campaign campaign(Long id) {
+        Campaign campaign = new Campaign();
+        campaign.setId(id);
+        return campaign;
+    }
+}
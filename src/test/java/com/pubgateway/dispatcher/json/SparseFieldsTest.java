@@ -0,0 +1,104 @@
+package com.pubgateway.dispatcher.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.controller.AdsController;
+import com.pubgateway.dispatcher.controller.CampaignController;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.service.CustomerFanOutService;
+import com.pubgateway.dispatcher.service.GooglePassthroughService;
+import com.pubgateway.dispatcher.service.PublisherService;
+import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import com.pubgateway.dispatcher.web.ConditionalResponses;
+import com.pubgateway.dispatcher.web.NdjsonResponses;
+import com.pubgateway.dispatcher.web.WebTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SparseFieldsTest {
+
+    private final ObjectMapper objectMapper = WebTestSupport.objectMapper();
+    private final PublisherService service = mock(PublisherService.class);
+    private PublisherServiceFactory serviceFactory;
+
+    @BeforeEach
+    void setUp() {
+        serviceFactory = mock(PublisherServiceFactory.class);
+        when(serviceFactory.getService(Publisher.META)).thenReturn(service);
+    }
+
+    @Test
+    void selectsFieldsOnJsonList() throws Exception {
+        when(service.getCampaigns("1", null, null, null, null, null)).thenReturn(List.of(campaign()));
+        CampaignController controller = new CampaignController(serviceFactory,
+                new NdjsonResponses(objectMapper, WebTestSupport.metrics()), mock(GooglePassthroughService.class),
+                new ConditionalResponses(objectMapper), mock(CustomerFanOutService.class));
+
+        WebTestSupport.mockMvc(controller, objectMapper)
+                .perform(get("/api/v1/publishers/meta/campaigns").param("accountId", "1").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].name").value("Brand"))
+                .andExpect(jsonPath("$[0].status").doesNotExist())
+                .andExpect(jsonPath("$[0].accountId").doesNotExist());
+    }
+
+    @Test
+    void selectsFieldsOnNdjsonStream() throws Exception {
+        when(service.streamAds("1", null, null, null)).thenReturn(Stream.of(ad(10L), ad(11L)));
+        AdsController controller = new AdsController(serviceFactory,
+                new NdjsonResponses(objectMapper, WebTestSupport.metrics()), mock(GooglePassthroughService.class),
+                new ConditionalResponses(objectMapper), mock(CustomerFanOutService.class));
+        var mockMvc = WebTestSupport.mockMvc(controller, objectMapper);
+
+        MvcResult started = mockMvc.perform(get("/api/v1/publishers/meta/ads").param("accountId", "1")
+                        .param("fields", "id,name").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).containsExactly(
+                "{\"id\":10,\"name\":\"Ad 10\"}",
+                "{\"id\":11,\"name\":\"Ad 11\"}");
+    }
+
+    @Test
+    void writesEveryPropertyWithoutSelection() throws Exception {
+        assertThat(objectMapper.writeValueAsString(campaign())).contains("\"status\":\"ENABLED\"", "\"name\":\"Brand\"");
+    }
+
+    @Test
+    void plainMappersIgnoreTheFilter() throws Exception {
+        assertThat(new ObjectMapper().writeValueAsString(campaign())).contains("\"status\":\"ENABLED\"");
+    }
+
+    private static Campaign campaign() {
+        Campaign campaign = new Campaign();
+        campaign.setId(7L);
+        campaign.setAccountId("1");
+        campaign.setName("Brand");
+        campaign.setStatus("ENABLED");
+        return campaign;
+    }
+
+    private static Ads ad(long id) {
+        return new Ads(id, 1L, 20L, 30L, "Ad " + id, "ENABLED", "TEXT", "{}", null, "META");
+    }
+}
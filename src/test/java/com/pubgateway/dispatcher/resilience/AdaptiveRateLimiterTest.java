@@ -0,0 +1,142 @@
+package com.pubgateway.dispatcher.resilience;
+
+import com.pubgateway.dispatcher.config.RateLimitProperties;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.PublisherThrottledException;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveRateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void queuesCallsBeyondTheBurst() {
+        AdaptiveRateLimiter limiter = limiter(limit(1000, 1000, 10, 1), Duration.ofSeconds(1));
+
+        long start = System.nanoTime();
+        limiter.acquire(Publisher.GOOGLE, "1");
+        limiter.acquire(Publisher.GOOGLE, "1");
+
+        // the second token is 1/10 s behind the first, however long the first call took
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(95));
+        assertThat(registry.get("dispatcher.ratelimit.wait").tag("publisher", "google").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsCallsThatWouldWaitTooLong() {
+        AdaptiveRateLimiter limiter = limiter(limit(1000, 1000, 1, 1), Duration.ofMillis(100));
+
+        limiter.acquire(Publisher.GOOGLE, "1");
+
+        assertThatThrownBy(() -> limiter.acquire(Publisher.GOOGLE, "1"))
+                .isInstanceOfSatisfying(PublisherThrottledException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+        assertThat(registry.get("dispatcher.ratelimit.rejected").tags("publisher", "google", "scope", "customer")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsCustomersApart() {
+        AdaptiveRateLimiter limiter = limiter(limit(1000, 1000, 1, 1), Duration.ZERO);
+
+        limiter.acquire(Publisher.GOOGLE, "1");
+        limiter.acquire(Publisher.GOOGLE, "2");
+        limiter.acquire(Publisher.META, "1");
+
+        assertThatThrownBy(() -> limiter.acquire(Publisher.GOOGLE, "1")).isInstanceOf(PublisherThrottledException.class);
+    }
+
+    @Test
+    void rejectsOnThePublisherLimit() {
+        AdaptiveRateLimiter limiter = limiter(limit(1, 1, 1000, 2), Duration.ZERO);
+
+        limiter.acquire(Publisher.GOOGLE, "1");
+
+        assertThatThrownBy(() -> limiter.acquire(Publisher.GOOGLE, "2")).isInstanceOf(PublisherThrottledException.class);
+        assertThat(registry.get("dispatcher.ratelimit.rejected").tags("publisher", "google", "scope", "publisher")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowsDownWhenThePluginThrottles() {
+        AdaptiveRateLimiter limiter = limiter(limit(100, 100, 100, 100), Duration.ZERO);
+        limiter.acquire(Publisher.GOOGLE, "1");
+
+        limiter.onFailure(Publisher.GOOGLE, "1", throttled(Map.of("Retry-After", List.of("2"))));
+
+        assertThat(rate()).isBetween(49.0, 52.0);
+        assertThatThrownBy(() -> limiter.acquire(Publisher.GOOGLE, "2"))
+                .isInstanceOfSatisfying(PublisherThrottledException.class,
+                        e -> assertThat(e.getRetryAfter()).isGreaterThan(Duration.ofSeconds(1)));
+        assertThat(registry.get("dispatcher.ratelimit.throttled").tag("publisher", "google").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void ignoresFailuresThatAreNotThrottling() {
+        AdaptiveRateLimiter limiter = limiter(limit(100, 100, 100, 100), Duration.ZERO);
+
+        limiter.onFailure(Publisher.GOOGLE, "1", new IllegalStateException("boom"));
+
+        assertThat(rate()).isEqualTo(100.0);
+        limiter.acquire(Publisher.GOOGLE, "1");
+    }
+
+    @Test
+    void doesNothingWhenDisabled() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(false);
+        properties.setMaxWait(Duration.ZERO);
+        properties.setDefaults(limit(1, 1, 1, 1));
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(properties, registry);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(Publisher.GOOGLE, "1");
+        }
+    }
+
+    private AdaptiveRateLimiter limiter(RateLimitProperties.Limit limit, Duration maxWait) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxWait(maxWait);
+        properties.setDefaults(limit);
+        return new AdaptiveRateLimiter(properties, registry);
+    }
+
+    private double rate() {
+        return registry.get("dispatcher.ratelimit.rate").tag("publisher", "google").gauge().value();
+    }
+
+    private static RateLimitProperties.Limit limit(double rate, int burst, double customerRate, int customerBurst) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setRate(rate);
+        limit.setBurst(burst);
+        limit.setCustomerRate(customerRate);
+        limit.setCustomerBurst(customerBurst);
+        return limit;
+    }
+
+    private static FeignException throttled(Map<String, Collection<String>> headers) {
+        Request request = Request.create(Request.HttpMethod.GET, "/api/v1/campaigns", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        Response response = Response.builder()
+                .status(429)
+                .reason("Too Many Requests")
+                .request(request)
+                .headers(headers)
+                .build();
+        return FeignException.errorStatus("GooglePubGatewayClient#getCampaigns", response);
+    }
+}
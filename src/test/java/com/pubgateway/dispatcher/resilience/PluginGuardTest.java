@@ -0,0 +1,74 @@
+package com.pubgateway.dispatcher.resilience;
+
+import com.pubgateway.dispatcher.config.RateLimitProperties;
+import com.pubgateway.dispatcher.config.ResilienceProperties;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.PublisherUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PluginGuardTest {
+
+    private final PluginGuard guard = guard(2);
+    private final Bulkhead bulkhead = guard.bulkheads().bulkhead("google-read");
+    private final CircuitBreaker circuitBreaker = guard.circuitBreakers().circuitBreaker("google-read");
+
+    @Test
+    void holdsTheBulkheadPermitUntilTheStreamIsClosed() {
+        Stream<Integer> stream = guard.readStream(Publisher.GOOGLE, "1", () -> Stream.of(1, 2, 3));
+
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+        assertThat(stream.toList()).containsExactly(1, 2, 3);
+        stream.close();
+
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(2);
+        assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsStreamsBeyondTheBulkhead() {
+        try (Stream<Integer> first = guard.readStream(Publisher.GOOGLE, "1", () -> Stream.of(1));
+             Stream<Integer> second = guard.readStream(Publisher.GOOGLE, "2", () -> Stream.of(2))) {
+            assertThatThrownBy(() -> guard.readStream(Publisher.GOOGLE, "3", () -> Stream.of(3)))
+                    .isInstanceOf(PublisherUnavailableException.class)
+                    .hasMessageContaining("too many concurrent calls");
+        }
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void recordsFailuresWhileTheStreamIsConsumed() {
+        AtomicInteger decoded = new AtomicInteger();
+        Stream<Integer> stream = guard.readStream(Publisher.GOOGLE, "1", () -> Stream.generate(() -> {
+            if (decoded.get() == 2) {
+                throw new UncheckedIOException(new IOException("connection reset"));
+            }
+            return decoded.getAndIncrement();
+        }));
+
+        try (stream) {
+            assertThatThrownBy(stream::toList).isInstanceOf(UncheckedIOException.class);
+        }
+
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+        assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls()).isZero();
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(2);
+    }
+
+    private static PluginGuard guard(int maxConcurrentCalls) {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getDefaults().setMaxConcurrentCalls(maxConcurrentCalls);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new PluginGuard(properties, new AdaptiveRateLimiter(new RateLimitProperties(), registry), registry);
+    }
+}
@@ -0,0 +1,151 @@
+package com.pubgateway.dispatcher.service;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.model.Campaign;
+import com.pubgateway.dispatcher.model.Group;
+import com.pubgateway.dispatcher.model.Keyword;
+import com.pubgateway.dispatcher.model.response.AccountTreeResponse;
+import com.pubgateway.dispatcher.model.response.AccountTreeResponse.CampaignNode;
+import com.pubgateway.dispatcher.model.response.AccountTreeResponse.GroupNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountTreeServiceTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final PublisherService service = mock(PublisherService.class);
+    private final PublisherServiceFactory factory = mock(PublisherServiceFactory.class);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fetchesEachLevelOnceAndGroupsLocally() {
+        stubAccount();
+
+        AccountTreeResponse tree = treeService(Duration.ofSeconds(5)).expand(Publisher.GOOGLE, "1", 4, 16);
+
+        assertThat(tree.isComplete()).isTrue();
+        assertThat(tree.getCampaigns()).extracting(node -> node.getCampaign().getId()).containsExactly(10L, 11L);
+        CampaignNode first = tree.getCampaigns().get(0);
+        assertThat(first.getGroups()).extracting(node -> node.getGroup().getId()).containsExactly(100L, 101L);
+        GroupNode group = first.getGroups().get(0);
+        assertThat(group.getAds()).extracting(Ads::getId).containsExactly(1000L);
+        assertThat(group.getKeywords()).extracting(Keyword::getId).containsExactly(5000L);
+        assertThat(first.getGroups().get(1).getAds()).isEmpty();
+        assertThat(tree.getCampaigns().get(1).getGroups()).isEmpty();
+
+        verify(service).getGroups("1", null, null, null);
+        verify(service).getAds("1", null, null, null);
+        verify(service).getKeywords("1", null, null, null, null);
+    }
+
+    @Test
+    void stopsAtTheRequestedDepth() {
+        stubAccount();
+
+        AccountTreeResponse tree = treeService(Duration.ofSeconds(5)).expand(Publisher.GOOGLE, "1", 2, 16);
+
+        GroupNode group = tree.getCampaigns().get(0).getGroups().get(0);
+        assertThat(group.getAds()).isNull();
+        assertThat(group.getKeywords()).isNull();
+        verify(service, never()).getAds(any(), any(), any(), any());
+    }
+
+    @Test
+    void reportsUnsupportedLevelsAsErrors() {
+        stubAccount();
+        when(service.getKeywords("1", null, null, null, null))
+                .thenThrow(new UnsupportedOperationException("keywords not supported"));
+
+        AccountTreeResponse tree = treeService(Duration.ofSeconds(5)).expand(Publisher.META, "1", 4, 16);
+
+        assertThat(tree.isComplete()).isFalse();
+        assertThat(tree.getErrors()).containsExactly("keywords not supported");
+        assertThat(tree.getCampaigns().get(0).getGroups().get(0).getKeywords()).isNull();
+    }
+
+    @Test
+    void leavesSlowLevelsOutOfThePartialTree() throws InterruptedException {
+        stubAccount();
+        CountDownLatch release = new CountDownLatch(1);
+        when(service.getAds("1", null, null, null)).thenAnswer(invocation -> {
+            release.await();
+            return List.of(ad(1000L, 100L));
+        });
+
+        AccountTreeResponse tree = treeService(Duration.ofMillis(200)).expand(Publisher.GOOGLE, "1", 3, 16);
+        release.countDown();
+
+        assertThat(tree.isComplete()).isFalse();
+        assertThat(tree.getErrors()).containsExactly("Deadline exceeded, tree is partial");
+        assertThat(tree.getCampaigns().get(0).getGroups().get(0).getAds()).isNull();
+    }
+
+    @Test
+    void submitsNothingOnceTheDeadlineHasPassed() {
+        stubAccount();
+
+        AccountTreeResponse tree = treeService(Duration.ZERO).expand(Publisher.GOOGLE, "1", 4, 16);
+
+        assertThat(tree.isComplete()).isFalse();
+        assertThat(tree.getAccounts()).isNull();
+        verify(service, never()).getAccount(any());
+    }
+
+    private AccountTreeService treeService(Duration deadline) {
+        when(factory.getService(any())).thenReturn(service);
+        return new AccountTreeService(factory, executor, 16, deadline);
+    }
+
+    private void stubAccount() {
+        when(service.getAccount("1")).thenReturn(List.of());
+        when(service.getCampaigns("1", null, null, null, null, null)).thenReturn(List.of(campaign(10L), campaign(11L)));
+        when(service.getGroups("1", null, null, null)).thenReturn(List.of(group(100L, 10L), group(101L, 10L)));
+        when(service.getAds("1", null, null, null)).thenReturn(List.of(ad(1000L, 100L)));
+        when(service.getKeywords("1", null, null, null, null)).thenReturn(List.of(keyword(5000L, 100L)));
+    }
+
+    private static Campaign campaign(Long id) {
+        Campaign campaign = new Campaign();
+        campaign.setId(id);
+        return campaign;
+    }
+
+    private static Group group(Long id, Long campaignId) {
+        Group group = new Group();
+        group.setId(id);
+        group.setCampaignId(campaignId);
+        return group;
+    }
+
+    private static Ads ad(Long id, Long groupId) {
+        Ads ad = new Ads();
+        ad.setId(id);
+        ad.setGroupId(groupId);
+        return ad;
+    }
+
+    private static Keyword keyword(Long id, Long adGroupId) {
+        Keyword keyword = new Keyword();
+        keyword.setId(id);
+        keyword.setAdGroupId(adGroupId);
+        return keyword;
+    }
+}
@@ -0,0 +1,95 @@
+package com.pubgateway.dispatcher.service;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.InvalidRequestException;
+import com.pubgateway.dispatcher.exception.PublisherThrottledException;
+import com.pubgateway.dispatcher.exception.PublisherUnavailableException;
+import com.pubgateway.dispatcher.model.response.BatchItemResult;
+import com.pubgateway.dispatcher.model.response.BatchResponse;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchMutationServiceTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final BatchMutationService batches = new BatchMutationService(executor, 2, 10);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void reportsAStatusPerItemInInputOrder() {
+        List<String> items = List.of("ok", "missing", "unsupported", "invalid", "unavailable", "broken", "empty");
+
+        BatchResponse<String> response = batches.execute(items, item -> switch (item) {
+            case "missing" -> throw FeignException.errorStatus("MetaPubGatewayClient#createCampaign", notFound());
+            case "unsupported" -> throw new UnsupportedOperationException("not supported");
+            case "invalid" -> throw new IllegalArgumentException("bad name");
+            case "unavailable" -> throw new PublisherUnavailableException(Publisher.META, "circuit open", null);
+            case "broken" -> throw new IllegalStateException("boom");
+            case "empty" -> null;
+            default -> item.toUpperCase();
+        }, HttpStatus.CREATED);
+
+        assertThat(response.getResults()).extracting(BatchItemResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(response.getResults()).extracting(BatchItemResult::getStatus)
+                .containsExactly(201, 404, 501, 400, 503, 500, 201);
+        assertThat(response.getResults().get(0).getItem()).isEqualTo("OK");
+        assertThat(response.getResults().get(6).getItem()).isNull();
+        assertThat(response.getResults().get(6).getError()).isNull();
+        assertThat(response.getResults().get(3).getError()).isEqualTo("bad name");
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        assertThatThrownBy(() -> batches.execute(List.of(), item -> item, HttpStatus.OK))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> batches.execute(Collections.nCopies(11, "a"), item -> item, HttpStatus.OK))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Batch must not contain more than 10 items");
+    }
+
+    @Test
+    void reportsThrottledItemsAsTooManyRequests() {
+        BatchResponse<String> response = batches.execute(List.of("a", "b"), item -> {
+            if (item.equals("b")) {
+                throw new PublisherThrottledException(Publisher.GOOGLE, "rate limit exceeded", Duration.ofMillis(1500));
+            }
+            return item;
+        }, HttpStatus.OK);
+
+        BatchItemResult<String> throttled = response.getResults().get(1);
+        assertThat(throttled.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(throttled.getRetryAfter()).isEqualTo(2);
+        assertThat(response.getResults().get(0).getRetryAfter()).isNull();
+    }
+
+    private static Response notFound() {
+        return Response.builder()
+                .status(404)
+                .reason("Not Found")
+                .request(Request.create(Request.HttpMethod.POST, "/api/v1/campaigns", Map.of(), null,
+                        StandardCharsets.UTF_8, null))
+                .headers(Map.of())
+                .build();
+    }
+}
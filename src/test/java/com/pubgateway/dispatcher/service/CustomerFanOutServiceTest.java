@@ -0,0 +1,132 @@
+package com.pubgateway.dispatcher.service;
+
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.exception.InvalidRequestException;
+import com.pubgateway.dispatcher.model.Account;
+import com.pubgateway.dispatcher.model.response.CustomerOutcome;
+import com.pubgateway.dispatcher.model.response.PublisherOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerFanOutServiceTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final PublisherService service = mock(PublisherService.class);
+    private final CustomerFanOutService fanOut = fanOutService(2, 5);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void followsEveryCustomerWithItsOutcome() {
+        List<Object> elements = collect(fanOut.fanOut(Publisher.GOOGLE, List.of("1", "2", "3"), null,
+                (service, customerId) -> {
+                    if (customerId.equals("2")) {
+                        throw new IllegalStateException("plugin down");
+                    }
+                    return List.of("c" + customerId + "-a", "c" + customerId + "-b");
+                }));
+
+        assertThat(elements).hasSize(7);
+        Map<String, CustomerOutcome> outcomes = new HashMap<>();
+        List<Object> entities = new ArrayList<>();
+        for (Object element : elements) {
+            if (element instanceof Map<?, ?> map) {
+                CustomerOutcome outcome = (CustomerOutcome) map.get(CustomerFanOutService.OUTCOME_FIELD);
+                outcomes.put(outcome.getCustomerId(), outcome);
+                // entities of a customer come right before its outcome
+                assertThat(entities).allMatch(entity -> entity.toString().startsWith("c" + outcome.getCustomerId()));
+                entities.clear();
+            } else {
+                entities.add(element);
+            }
+        }
+        assertThat(outcomes.get("1").getStatus()).isEqualTo(PublisherOutcome.OK);
+        assertThat(outcomes.get("1").getCount()).isEqualTo(2);
+        assertThat(outcomes.get("2").getStatus()).isEqualTo(PublisherOutcome.FAILED);
+        assertThat(outcomes.get("2").getError()).isEqualTo("IllegalStateException: plugin down");
+        assertThat(outcomes.get("3").getStatus()).isEqualTo(PublisherOutcome.OK);
+    }
+
+    @Test
+    void expandsManagerToClientAccounts() {
+        when(service.getAccountSubtree("100", null)).thenReturn(List.of(
+                account(101L, true), account(102L, false), account(103L, false)));
+        List<String> called = Collections.synchronizedList(new ArrayList<>());
+
+        collect(fanOut.fanOut(Publisher.GOOGLE, List.of("102", "7"), "100", (service, customerId) -> {
+            called.add(customerId);
+            return List.of();
+        }));
+
+        assertThat(called).containsExactlyInAnyOrder("102", "7", "103");
+    }
+
+    @Test
+    void keepsAtMostTheConfiguredNumberOfCallsInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        collect(fanOut.fanOut(Publisher.GOOGLE, List.of("1", "2", "3", "4", "5"), null, (service, customerId) -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return List.of();
+        }));
+
+        assertThat(peak.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void rejectsRequestsWithoutOrWithTooManyCustomers() {
+        assertThatThrownBy(() -> fanOut.fanOut(Publisher.GOOGLE, List.of(" "), null, (service, id) -> List.of()))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> fanOut.fanOut(Publisher.GOOGLE, List.of("1", "2", "3", "4", "5", "6"), null,
+                (service, id) -> List.of()))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> fanOut.fanOut(Publisher.GOOGLE, null, "999", (service, id) -> List.of()))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private CustomerFanOutService fanOutService(int concurrency, int maxCustomers) {
+        PublisherServiceFactory serviceFactory = mock(PublisherServiceFactory.class);
+        when(serviceFactory.getService(Publisher.GOOGLE)).thenReturn(service);
+        return new CustomerFanOutService(serviceFactory, executor, concurrency, maxCustomers);
+    }
+
+    private static List<Object> collect(Stream<Object> stream) {
+        try (stream) {
+            return stream.toList();
+        }
+    }
+
+    private static Account account(Long id, boolean manager) {
+        Account account = new Account();
+        account.setId(id);
+        account.setManager(manager);
+        return account;
+    }
+}
@@ -0,0 +1,106 @@
+package com.pubgateway.dispatcher.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.controller.AdsController;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.service.CustomerFanOutService;
+import com.pubgateway.dispatcher.service.GooglePassthroughService;
+import com.pubgateway.dispatcher.service.PublisherService;
+import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ConditionalResponsesTest {
+
+    private final PublisherService service = mock(PublisherService.class);
+    private List<Ads> ads = List.of(ad("Spring sale"));
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(service.getAds("1", null, null, null)).thenAnswer(invocation -> ads);
+        PublisherServiceFactory serviceFactory = mock(PublisherServiceFactory.class);
+        when(serviceFactory.getService(Publisher.META)).thenReturn(service);
+
+        ObjectMapper objectMapper = WebTestSupport.objectMapper();
+        mockMvc = WebTestSupport.mockMvc(new AdsController(serviceFactory,
+                new NdjsonResponses(objectMapper, WebTestSupport.metrics()),
+                mock(GooglePassthroughService.class),
+                new ConditionalResponses(objectMapper),
+                mock(CustomerFanOutService.class)), objectMapper);
+    }
+
+    @Test
+    void answersWithAStableStrongEtag() throws Exception {
+        String etag = etag(ads());
+
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(etag(ads())).isEqualTo(etag);
+    }
+
+    @Test
+    void answersNotModifiedWhenTheEtagMatches() throws Exception {
+        String etag = etag(ads());
+
+        mockMvc.perform(ads().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void ignoresWeakPrefixesAndOtherCandidates() throws Exception {
+        String etag = etag(ads());
+
+        mockMvc.perform(ads().header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void answersInFullWhenTheContentChanged() throws Exception {
+        String etag = etag(ads());
+        ads = List.of(ad("Summer sale"));
+
+        mockMvc.perform(ads().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertThat(etag(ads())).isNotEqualTo(etag);
+    }
+
+    @Test
+    void givesEachRepresentationItsOwnEtag() throws Exception {
+        String full = etag(ads());
+
+        assertThat(etag(ads().param("includeRaw", "false"))).isNotEqualTo(full);
+        assertThat(etag(ads().param("fields", "id,name"))).isNotEqualTo(full);
+        mockMvc.perform(ads().param("includeRaw", "false").header(HttpHeaders.IF_NONE_MATCH, full))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static MockHttpServletRequestBuilder ads() {
+        return get("/api/v1/publishers/meta/ads").param("accountId", "1");
+    }
+
+    private static Ads ad(String name) {
+        return new Ads(10L, 1L, 20L, 30L, name, "ENABLED", "TEXT", "{\"headline\":\"Sale\"}", null, "META");
+    }
+}
@@ -0,0 +1,108 @@
+package com.pubgateway.dispatcher.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.config.FeignTransportConfig;
+import com.pubgateway.dispatcher.config.JsonProperties;
+import com.pubgateway.dispatcher.controller.AdsController;
+import com.pubgateway.dispatcher.enumeration.Publisher;
+import com.pubgateway.dispatcher.json.RawJsonModule;
+import com.pubgateway.dispatcher.model.Ads;
+import com.pubgateway.dispatcher.service.CustomerFanOutService;
+import com.pubgateway.dispatcher.service.GooglePassthroughService;
+import com.pubgateway.dispatcher.service.PublisherService;
+import com.pubgateway.dispatcher.service.PublisherServiceFactory;
+import feign.RequestTemplate;
+import feign.codec.Encoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.openfeign.support.FeignEncoderProperties;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TimedJacksonHttpMessageConverterTest {
+
+    private static final Ads AD =
+            new Ads(10L, 1L, 20L, 30L, "Spring sale", "ENABLED", "TEXT", "{\"headline\":\"Sale\"}", null, "META");
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = mockMvc(new JsonProperties());
+    }
+
+    @Test
+    void writesRawPayloadByDefault() throws Exception {
+        mockMvc.perform(get("/api/v1/publishers/meta/ads").param("accountId", "1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Spring sale"))
+                .andExpect(jsonPath("$[0].raw").value("{\"headline\":\"Sale\"}"));
+    }
+
+    @Test
+    void leavesOutRawPayloadWhenIncludeRawIsFalse() throws Exception {
+        mockMvc.perform(get("/api/v1/publishers/meta/ads").param("accountId", "1").param("includeRaw", "false")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Spring sale"))
+                .andExpect(jsonPath("$[0].raw").doesNotExist());
+    }
+
+    @Test
+    void embedsRawPayloadInEmbeddedMode() throws Exception {
+        mockMvc = mockMvc(embedded());
+
+        mockMvc.perform(get("/api/v1/publishers/meta/ads").param("accountId", "1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].raw.headline").value("Sale"));
+    }
+
+    @Test
+    void keepsRawPayloadAsStringInPluginRequestBodiesInEmbeddedMode() {
+        ObjectMapper objectMapper = WebTestSupport.objectMapper(embedded());
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        Encoder encoder = new FeignTransportConfig().feignEncoder(objectMapper,
+                beanFactory.getBeanProvider(FeignEncoderProperties.class),
+                beanFactory.getBeanProvider(HttpMessageConverterCustomizer.class));
+        RequestTemplate request = new RequestTemplate();
+        request.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+
+        encoder.encode(AD, Ads.class, request);
+
+        assertThat(new String(request.body(), StandardCharsets.UTF_8))
+                .contains("\"raw\":\"{\\\"headline\\\":\\\"Sale\\\"}\"");
+    }
+
+    private static JsonProperties embedded() {
+        JsonProperties properties = new JsonProperties();
+        properties.setRawMode(RawJsonModule.Mode.EMBEDDED);
+        return properties;
+    }
+
+    private static MockMvc mockMvc(JsonProperties properties) {
+        PublisherService service = mock(PublisherService.class);
+        when(service.getAds("1", null, null, null)).thenReturn(List.of(AD));
+        PublisherServiceFactory serviceFactory = mock(PublisherServiceFactory.class);
+        when(serviceFactory.getService(Publisher.META)).thenReturn(service);
+
+        ObjectMapper objectMapper = WebTestSupport.objectMapper(properties);
+        return WebTestSupport.mockMvc(new AdsController(serviceFactory,
+                new NdjsonResponses(objectMapper, WebTestSupport.metrics()),
+                mock(GooglePassthroughService.class),
+                new ConditionalResponses(objectMapper),
+                mock(CustomerFanOutService.class)), objectMapper);
+    }
+}
@@ -0,0 +1,46 @@
+package com.pubgateway.dispatcher.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pubgateway.dispatcher.config.JacksonConfig;
+import com.pubgateway.dispatcher.config.JsonProperties;
+import com.pubgateway.dispatcher.exception.GlobalExceptionHandler;
+import com.pubgateway.dispatcher.metrics.DispatcherMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Controllers on standalone MockMvc, with the dispatcher's own JSON converter and an ObjectMapper
+ * configured the way Boot configures the application's.
+ */
+public final class WebTestSupport {
+
+    private WebTestSupport() {
+    }
+
+    public static ObjectMapper objectMapper(JsonProperties properties) {
+        JacksonConfig config = new JacksonConfig();
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .modulesToInstall(config.rawJsonModule(properties));
+        config.sparseFieldsCustomizer().customize(builder);
+        return builder.build();
+    }
+
+    public static ObjectMapper objectMapper() {
+        return objectMapper(new JsonProperties());
+    }
+
+    public static DispatcherMetrics metrics() {
+        return new DispatcherMetrics(new SimpleMeterRegistry());
+    }
+
+    public static MockMvc mockMvc(Object controller, ObjectMapper objectMapper) {
+        return MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(new StringHttpMessageConverter(),
+                        new TimedJacksonHttpMessageConverter(objectMapper, metrics()))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+}